@@ -38,13 +38,22 @@ def _gapic_srcjar_impl(ctx):
         "--output=%s" % output.path,
     ] + optional_arguments
 
+    # Pass all arguments through a params file, so that the generator can run as a persistent
+    # worker: Bazel then sends the params file contents as one WorkRequest per action.
+    args = ctx.actions.args()
+    args.add_all(arguments)
+    args.use_param_file("@%s", use_always = True)
+    args.set_param_file_format("multiline")
+
     gapic_generator = ctx.executable.gapic_generator
     ctx.actions.run(
         inputs = [ctx.file.src, ctx.file.gapic_yaml] + optional_action_inputs,
         outputs = [output],
-        arguments = arguments,
+        arguments = [args],
         progress_message = "%s: `%s %s`" % (ctx.label, gapic_generator.path, " ".join(arguments)),
         executable = gapic_generator,
+        mnemonic = "GapicGenerator",
+        execution_requirements = {"supports-workers": "1"},
     )
 
 gapic_srcjar = rule(
@@ -0,0 +1,129 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.benchmark;
+
+import com.google.api.codegen.CodegenTestUtil;
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.codegen.config.ApiDefaultsConfig;
+import com.google.api.codegen.config.DependenciesConfig;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.PackageMetadataConfig;
+import com.google.api.codegen.config.PackagingConfig;
+import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.Model;
+import com.google.api.tools.framework.model.SimpleDiagCollector;
+import com.google.api.tools.framework.model.testing.TestDataLocator;
+import java.io.IOException;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Loads the proto-based APIs from the test data which the benchmarks run against. Each API is made
+ * of {@code <api>.proto}, the service config {@code <api>.yaml}, the GAPIC config {@code
+ * <api>_gapic.yaml} and the packaging config {@code <api>_pkg2.yaml} in testsrc/common.
+ */
+class BenchmarkApis {
+
+  private BenchmarkApis() {}
+
+  /** A model, with its configs, which has been established up to the merged stage. */
+  static class LoadedApi {
+    private final TemporaryFolder tempDir;
+    private final Model model;
+    private final ConfigProto gapicConfig;
+    private final PackageMetadataConfig packageConfig;
+
+    private LoadedApi(
+        TemporaryFolder tempDir,
+        Model model,
+        ConfigProto gapicConfig,
+        PackageMetadataConfig packageConfig) {
+      this.tempDir = tempDir;
+      this.model = model;
+      this.gapicConfig = gapicConfig;
+      this.packageConfig = packageConfig;
+    }
+
+    Model getModel() {
+      return model;
+    }
+
+    PackageMetadataConfig getPackageConfig() {
+      return packageConfig;
+    }
+
+    /** Creates the product config of the API for the given language. */
+    GapicProductConfig createProductConfig(TargetLanguage language) {
+      GapicProductConfig productConfig =
+          GapicProductConfig.create(model, gapicConfig, null, null, language);
+      if (productConfig == null) {
+        throw new IllegalStateException(
+            "Failed to create the product config: "
+                + describeDiags(model.getDiagReporter().getDiagCollector()));
+      }
+      return productConfig;
+    }
+
+    /** Deletes the temporary files the model was compiled into. */
+    void close() {
+      tempDir.delete();
+    }
+  }
+
+  /** Compiles the protos of the API and reads its configs. */
+  static LoadedApi load(String apiName) throws IOException {
+    TestDataLocator locator = TestDataLocator.create(CodegenTestUtil.class);
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+
+    TemporaryFolder tempDir = new TemporaryFolder();
+    tempDir.create();
+    Model model =
+        CodegenTestUtil.readModel(
+            locator, tempDir, new String[] {apiName + ".proto"}, new String[] {apiName + ".yaml"});
+    if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
+      tempDir.delete();
+      throw new IllegalStateException(
+          "Failed to load "
+              + apiName
+              + ": "
+              + describeDiags(model.getDiagReporter().getDiagCollector()));
+    }
+
+    DiagCollector diagCollector = new SimpleDiagCollector();
+    ConfigProto gapicConfig =
+        CodegenTestUtil.readConfig(diagCollector, locator, new String[] {apiName + "_gapic.yaml"});
+    if (gapicConfig == null) {
+      tempDir.delete();
+      throw new IllegalStateException(
+          "Failed to read the GAPIC config of " + apiName + ": " + describeDiags(diagCollector));
+    }
+
+    PackageMetadataConfig packageConfig =
+        PackageMetadataConfig.createFromPackaging(
+            ApiDefaultsConfig.load(),
+            DependenciesConfig.loadFromURL(locator.findTestData("frozen_dependencies.yaml")),
+            PackagingConfig.loadFromURL(locator.findTestData(apiName + "_pkg2.yaml")));
+    return new LoadedApi(tempDir, model, gapicConfig, packageConfig);
+  }
+
+  private static String describeDiags(DiagCollector diagCollector) {
+    StringBuilder diags = new StringBuilder();
+    for (Diag diag : diagCollector.getDiags()) {
+      diags.append('\n').append(diag.toString());
+    }
+    return diags.toString();
+  }
+}
@@ -0,0 +1,102 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.benchmark;
+
+import com.google.api.codegen.ArtifactType;
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.discogapic.DiscoGapicGeneratorApp;
+import com.google.api.tools.framework.snippet.Doc;
+import com.google.common.io.Resources;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures Java GAPIC generation from the simplecompute Discovery document: reading the document
+ * and configs into generators, generating the docs, and pretty-printing them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscoGapicGenerationBenchmark {
+
+  private static final String TEST_DATA = "com/google/api/codegen/discogapic/testdata/";
+
+  private List<CodeGenerator<?>> generators;
+  private List<Doc> docs;
+
+  @Setup
+  public void setUp() throws IOException {
+    generators = createGenerators();
+    docs = new ArrayList<>();
+    for (Map<String, ? extends GeneratedResult<?>> results : generate()) {
+      for (GeneratedResult<?> result : results.values()) {
+        if (result.getBody() instanceof Doc) {
+          docs.add((Doc) result.getBody());
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public List<CodeGenerator<?>> createGenerators() throws IOException {
+    return DiscoGapicGeneratorApp.getGenerators(
+        findTestData(TEST_DATA + "simplecompute.v1.json"),
+        Collections.singletonList(findTestData(TEST_DATA + "simplecompute_gapic.yaml")),
+        findTestData(TEST_DATA + "simplecompute_pkg2.yaml"),
+        findTestData("com/google/api/codegen/testsrc/common/frozen_dependencies.yaml"),
+        "java",
+        Collections.emptyList(),
+        ArtifactType.LEGACY_DISCOGAPIC_AND_PACKAGE);
+  }
+
+  @Benchmark
+  public List<Map<String, ? extends GeneratedResult<?>>> generate() throws IOException {
+    List<Map<String, ? extends GeneratedResult<?>>> generatedResults = new ArrayList<>();
+    for (CodeGenerator<?> generator : generators) {
+      generatedResults.add(generator.generate());
+    }
+    return generatedResults;
+  }
+
+  @Benchmark
+  public void prettyPrint(Blackhole blackhole) {
+    for (Doc doc : docs) {
+      blackhole.consume(doc.prettyPrint());
+    }
+  }
+
+  private static String findTestData(String resourceName) {
+    return Resources.getResource(resourceName).getPath();
+  }
+}
@@ -0,0 +1,86 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.codegen.discogapic.DocumentGenerator;
+import com.google.api.codegen.discovery.DiscoveryNode;
+import com.google.api.codegen.discovery.Document;
+import com.google.common.io.Resources;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading a Discovery document through {@link DocumentGenerator#readDocument} with the
+ * previous path, which decoded the file through a Reader with a new ObjectMapper for every
+ * document.
+ *
+ * <p>The document defaults to the simplecompute test document; a larger one, such as the full
+ * Compute document, can be benchmarked with {@code -p discoveryDoc=/path/to/compute.v1.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscoveryDocumentBenchmark {
+
+  private static final String SIMPLECOMPUTE =
+      "com/google/api/codegen/discogapic/testdata/simplecompute.v1.json";
+
+  @Param({SIMPLECOMPUTE})
+  public String discoveryDoc;
+
+  private Path discoveryDocPath;
+
+  @Setup
+  public void setUp() {
+    discoveryDocPath =
+        discoveryDoc.equals(SIMPLECOMPUTE)
+            ? Paths.get(Resources.getResource(SIMPLECOMPUTE).getPath())
+            : Paths.get(discoveryDoc);
+  }
+
+  @Benchmark
+  public Document readDocument() throws IOException {
+    return DocumentGenerator.readDocument(discoveryDocPath);
+  }
+
+  @Benchmark
+  public Document readDocumentThroughReader() throws IOException {
+    try (Reader reader = new InputStreamReader(new FileInputStream(discoveryDocPath.toFile()))) {
+      JsonNode root = new ObjectMapper().readTree(reader);
+      return Document.from(new DiscoveryNode(root));
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.benchmark;
+
+import com.google.api.codegen.ArtifactType;
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.ProtoApiModel;
+import com.google.api.codegen.gapic.ArtifactFlags;
+import com.google.api.codegen.gapic.GapicGenerator;
+import com.google.api.codegen.gapic.GapicGeneratorFactory;
+import com.google.api.codegen.viewmodel.ViewModel;
+import com.google.api.tools.framework.snippet.Doc;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the stages of GAPIC generation separately for every language: transforming the model
+ * into views, rendering the views into docs, and pretty-printing the docs into text. Each stage
+ * runs on the output of the previous stage, which is computed once during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GapicGenerationBenchmark {
+
+  @Param({"library", "multiple_services"})
+  public String api;
+
+  @Param({"JAVA", "GO", "CSHARP", "NODEJS", "PHP", "PYTHON", "RUBY"})
+  public TargetLanguage language;
+
+  private BenchmarkApis.LoadedApi loadedApi;
+  private GapicProductConfig productConfig;
+  private List<GapicGenerator> generators;
+  private List<List<ViewModel>> views;
+  private List<Doc> docs;
+
+  @Setup
+  public void setUp() throws IOException {
+    loadedApi = BenchmarkApis.load(api);
+    productConfig = loadedApi.createProductConfig(language);
+
+    ArtifactFlags artifactFlags =
+        new ArtifactFlags(
+            Arrays.asList("surface", "test", "samples"), ArtifactType.LEGACY_GAPIC_AND_PACKAGE);
+    generators = new ArrayList<>();
+    for (CodeGenerator<?> generator :
+        GapicGeneratorFactory.create(
+            language,
+            loadedApi.getModel(),
+            productConfig,
+            loadedApi.getPackageConfig(),
+            artifactFlags,
+            true)) {
+      // Only view-model based generators have separate transform and render stages.
+      if (generator instanceof GapicGenerator) {
+        generators.add((GapicGenerator) generator);
+      }
+    }
+
+    views = transform();
+    docs = new ArrayList<>();
+    for (Map<String, GeneratedResult<Doc>> results : render()) {
+      for (GeneratedResult<Doc> result : results.values()) {
+        docs.add(result.getBody());
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    loadedApi.close();
+  }
+
+  @Benchmark
+  public List<List<ViewModel>> transform() {
+    ProtoApiModel apiModel = new ProtoApiModel(loadedApi.getModel());
+    List<List<ViewModel>> transformedViews = new ArrayList<>(generators.size());
+    for (GapicGenerator generator : generators) {
+      transformedViews.add(
+          generator.getModelToViewTransformer().transform(apiModel, productConfig));
+    }
+    return transformedViews;
+  }
+
+  @Benchmark
+  public List<Map<String, GeneratedResult<Doc>>> render() {
+    List<Map<String, GeneratedResult<Doc>>> renderedResults = new ArrayList<>();
+    for (int i = 0; i < generators.size(); i++) {
+      for (ViewModel view : views.get(i)) {
+        renderedResults.add(generators.get(i).getSnippetSetRunner().generate(view));
+      }
+    }
+    return renderedResults;
+  }
+
+  @Benchmark
+  public void prettyPrint(Blackhole blackhole) {
+    for (Doc doc : docs) {
+      blackhole.consume(doc.prettyPrint());
+    }
+  }
+}
@@ -14,17 +14,25 @@
  */
 package com.google.api.codegen;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.google.api.codegen.configgen.DiscoConfigGeneratorApp;
 import com.google.api.codegen.configgen.GapicConfigGeneratorApp;
 import com.google.api.codegen.discogapic.DiscoGapicGeneratorApp;
 import com.google.api.codegen.gapic.FileGapicWriter;
 import com.google.api.codegen.gapic.GapicGeneratorApp;
+import com.google.api.codegen.gapic.ZipCompression;
 import com.google.api.codegen.packagegen.PackageGeneratorApp;
 import com.google.api.codegen.packagegen.PackagingArtifactType;
 import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -134,6 +142,57 @@ public class GeneratorMain {
           .argName("DISCOVERY-DOC")
           .required(true)
           .build();
+  private static final Option PARALLELISM_OPTION =
+      Option.builder()
+          .longOpt("parallelism")
+          .desc(
+              "Optional. The maximum number of interfaces within a code generator to transform "
+                  + "concurrently. Code generators themselves always run one after another. "
+                  + "Defaults to 1, which runs everything sequentially.")
+          .hasArg()
+          .argName("PARALLELISM")
+          .required(false)
+          .build();
+  private static final Option STREAMING_OUTPUT_OPTION =
+      Option.builder()
+          .longOpt("streaming_output")
+          .desc(
+              "Optional. Write each generated file as soon as it is rendered instead of keeping "
+                  + "all generated files in memory until generation has finished.")
+          .argName("STREAMING_OUTPUT")
+          .required(false)
+          .build();
+  private static final Option INCREMENTAL_OUTPUT_OPTION =
+      Option.builder()
+          .longOpt("incremental_output")
+          .desc(
+              "Optional. Only rewrite output files whose content changed, and delete files that "
+                  + "are no longer generated. Keeps a manifest of content hashes in the output "
+                  + "directory. Ignored for jar and srcjar output.")
+          .argName("INCREMENTAL_OUTPUT")
+          .required(false)
+          .build();
+  private static final Option CONFIG_SNAPSHOT_OPTION =
+      Option.builder()
+          .longOpt("config_snapshot")
+          .desc(
+              "Optional. A file to cache the GAPIC config parsed from the YAML config files in, so "
+                  + "that later runs on the same files, e.g. for other languages, skip parsing "
+                  + "the YAML. It does not cache the model or the resolved product config.")
+          .hasArg()
+          .argName("CONFIG-SNAPSHOT")
+          .required(false)
+          .build();
+  private static final Option ZIP_COMPRESSION_OPTION =
+      Option.builder()
+          .longOpt("zip_compression")
+          .desc(
+              "Optional. The compression for zip, jar and srcjar output: either 'stored' for no "
+                  + "compression, or a deflate level from 0 to 9.")
+          .hasArg()
+          .argName("ZIP_COMPRESSION")
+          .required(false)
+          .build();
 
   public static void printAvailableCommands() {
     System.err.println("  Available artifact types:");
@@ -143,11 +202,22 @@ public class GeneratorMain {
   }
 
   public static void main(String[] args) throws Exception {
+    if (Arrays.asList(args).contains(GeneratorWorker.PERSISTENT_WORKER_FLAG)) {
+      new GeneratorWorker(System.in, System.out, System.err).run();
+      return;
+    }
+    System.exit(run(expandParamFiles(args)));
+  }
+
+  /**
+   * Runs a single generation with the given command line and returns its exit code. All state of
+   * the generation, such as the model and its diagnostics, is created for this call only.
+   */
+  public static int run(String[] args) throws Exception {
     if (args.length == 0) {
       System.err.println("No artifact type given!");
       printAvailableCommands();
-      System.exit(1);
-      return;
+      return 1;
     }
     String command = args[0].toUpperCase();
 
@@ -157,45 +227,56 @@ public class GeneratorMain {
     } catch (Exception e) {
       System.err.println("Unrecognized artifact type: '" + command.toLowerCase() + "'");
       printAvailableCommands();
-      System.exit(1);
-      return;
+      return 1;
     }
 
     switch (artifactType) {
       case GAPIC_CONFIG:
-        gapicConfigGeneratorMain(args);
-        break;
+        return gapicConfigGeneratorMain(args);
       case GAPIC_CODE:
-        gapicGeneratorMain(artifactType, args);
-        break;
+        return gapicGeneratorMain(artifactType, args);
       case GAPIC_PACKAGE:
-        gapicGeneratorMain(artifactType, args);
-        break;
+        return gapicGeneratorMain(artifactType, args);
       case LEGACY_GAPIC_AND_PACKAGE:
-        gapicGeneratorMain(artifactType, args);
-        break;
+        return gapicGeneratorMain(artifactType, args);
       case DISCOGAPIC_CONFIG:
-        discoGapicConfigGeneratorMain(args);
-        break;
+        return discoGapicConfigGeneratorMain(args);
       case DISCOGAPIC_CODE:
-        discoGapicMain(artifactType, args);
-        break;
+        return discoGapicMain(artifactType, args);
       case LEGACY_DISCOGAPIC_AND_PACKAGE:
-        discoGapicMain(artifactType, args);
-        break;
+        return discoGapicMain(artifactType, args);
       case LEGACY_GRPC_PACKAGE:
-        packageGeneratorMain(args);
-        break;
+        return packageGeneratorMain(args);
       default:
         System.err.println(
             "ArtifactType '"
                 + artifactType
                 + "' present in enum but not supported on command line - programmer error?");
-        System.exit(1);
+        return 1;
+    }
+  }
+
+  /**
+   * Replaces every argument of the form {@code @file} with the lines of that file, which is how
+   * Bazel passes arguments through a params file.
+   */
+  static String[] expandParamFiles(String[] args) throws IOException {
+    List<String> expandedArgs = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith("@") && arg.length() > 1) {
+        for (String line : Files.readAllLines(Paths.get(arg.substring(1)), UTF_8)) {
+          if (!line.isEmpty()) {
+            expandedArgs.add(line);
+          }
+        }
+      } else {
+        expandedArgs.add(arg);
+      }
     }
+    return expandedArgs.toArray(new String[0]);
   }
 
-  public static void gapicConfigGeneratorMain(String[] args) throws Exception {
+  public static int gapicConfigGeneratorMain(String[] args) throws Exception {
     Options options = new Options();
     options.addOption("h", "help", false, "show usage");
     options.addOption(DESCRIPTOR_SET_OPTION);
@@ -217,11 +298,10 @@ public class GeneratorMain {
         ToolOptions.CONFIG_FILES,
         Lists.newArrayList(cl.getOptionValues(SERVICE_YAML_OPTION.getLongOpt())));
     GapicConfigGeneratorApp configGen = new GapicConfigGeneratorApp(toolOptions);
-    int exitCode = configGen.run();
-    System.exit(exitCode);
+    return configGen.run();
   }
 
-  public static void gapicGeneratorMain(ArtifactType artifactType, String[] args) throws Exception {
+  public static int gapicGeneratorMain(ArtifactType artifactType, String[] args) throws Exception {
     Options options = new Options();
     options.addOption("h", "help", false, "show usage");
     options.addOption(DESCRIPTOR_SET_OPTION);
@@ -252,6 +332,11 @@ public class GeneratorMain {
             .required(false)
             .build();
     options.addOption(devSamplesOption);
+    options.addOption(PARALLELISM_OPTION);
+    options.addOption(STREAMING_OUTPUT_OPTION);
+    options.addOption(INCREMENTAL_OUTPUT_OPTION);
+    options.addOption(CONFIG_SNAPSHOT_OPTION);
+    options.addOption(ZIP_COMPRESSION_OPTION);
 
     CommandLine cl = (new DefaultParser()).parse(options, args);
     if (cl.hasOption("help")) {
@@ -302,38 +387,58 @@ public class GeneratorMain {
     }
 
     toolOptions.set(GapicGeneratorApp.DEV_SAMPLES, cl.hasOption(devSamplesOption.getLongOpt()));
+    setParallelism(cl, toolOptions);
+    toolOptions.set(
+        GapicGeneratorApp.STREAMING_OUTPUT, cl.hasOption(STREAMING_OUTPUT_OPTION.getLongOpt()));
+    toolOptions.set(
+        GapicGeneratorApp.CONFIG_SNAPSHOT,
+        cl.getOptionValue(CONFIG_SNAPSHOT_OPTION.getLongOpt(), ""));
 
     String outputPath = toolOptions.get(GapicGeneratorApp.OUTPUT_FILE);
+    boolean incrementalOutput = cl.hasOption(INCREMENTAL_OUTPUT_OPTION.getLongOpt());
+    ZipCompression zipCompression =
+        ZipCompression.parse(cl.getOptionValue(ZIP_COMPRESSION_OPTION.getLongOpt()));
     GapicGeneratorApp codeGen =
-        new GapicGeneratorApp(toolOptions, artifactType, new FileGapicWriter(outputPath));
-    int exitCode = codeGen.run();
-    System.exit(exitCode);
+        new GapicGeneratorApp(
+            toolOptions,
+            artifactType,
+            new FileGapicWriter(outputPath, incrementalOutput, zipCompression));
+    return codeGen.run();
   }
 
+  /**
+   * Creates the options of a protoc plugin run. The descriptor set is not among them: the caller
+   * passes the proto files of the request in memory through {@link
+   * ToolOptions#DESCRIPTOR_SET_CONTENTS}.
+   */
   public static ToolOptions createCodeGeneratorOptionsFromProtoc(String[] args)
       throws ParseException {
     Options options = new Options();
     // We can add more options as they become needed.
-    options.addOption(DESCRIPTOR_SET_OPTION);
     options.addOption(LANGUAGE_OPTION);
     options.addOption(TARGET_API_PROTO_PACKAGE);
+    options.addOption(PARALLELISM_OPTION);
 
     CommandLine cl = (new DefaultParser()).parse(options, args);
 
     ToolOptions toolOptions = ToolOptions.create();
-    toolOptions.set(
-        ToolOptions.DESCRIPTOR_SET, cl.getOptionValue(DESCRIPTOR_SET_OPTION.getLongOpt()));
 
+    // The options may be repeated to generate several packages and languages in one run.
     toolOptions.set(
-        GapicGeneratorApp.PROTO_PACKAGE, cl.getOptionValue(TARGET_API_PROTO_PACKAGE.getLongOpt()));
-    toolOptions.set(GapicGeneratorApp.LANGUAGE, cl.getOptionValue(LANGUAGE_OPTION.getLongOpt()));
-
-    checkFile(toolOptions.get(ToolOptions.DESCRIPTOR_SET));
+        GapicGeneratorApp.PROTO_PACKAGE,
+        joinOptionValues(cl, TARGET_API_PROTO_PACKAGE.getLongOpt()));
+    toolOptions.set(GapicGeneratorApp.LANGUAGE, joinOptionValues(cl, LANGUAGE_OPTION.getLongOpt()));
+    setParallelism(cl, toolOptions);
 
     return toolOptions;
   }
 
-  public static void packageGeneratorMain(String[] args) throws Exception {
+  private static String joinOptionValues(CommandLine cl, String longOpt) {
+    String[] values = cl.getOptionValues(longOpt);
+    return values == null ? null : String.join(",", values);
+  }
+
+  public static int packageGeneratorMain(String[] args) throws Exception {
     Options options = new Options();
     options.addOption("h", "help", false, "show usage");
     options.addOption(DESCRIPTOR_SET_OPTION);
@@ -396,11 +501,10 @@ public class GeneratorMain {
     }
 
     PackageGeneratorApp generator = new PackageGeneratorApp(toolOptions);
-    int exitCode = generator.run();
-    System.exit(exitCode);
+    return generator.run();
   }
 
-  public static void discoGapicConfigGeneratorMain(String[] args) throws Exception {
+  public static int discoGapicConfigGeneratorMain(String[] args) throws Exception {
     Options options = new Options();
     options.addOption("h", "help", false, "show usage");
     options.addOption(DISCOVERY_DOC_OPTION);
@@ -419,11 +523,10 @@ public class GeneratorMain {
         DiscoConfigGeneratorApp.DISCOVERY_DOC,
         cl.getOptionValue(DISCOVERY_DOC_OPTION.getLongOpt()));
     DiscoConfigGeneratorApp configGen = new DiscoConfigGeneratorApp(toolOptions);
-    int exitCode = configGen.run();
-    System.exit(exitCode);
+    return configGen.run();
   }
 
-  public static void discoGapicMain(ArtifactType artifactType, String[] args) throws Exception {
+  public static int discoGapicMain(ArtifactType artifactType, String[] args) throws Exception {
     Options options = new Options();
     options.addOption("h", "help", false, "show usage");
     // TODO make required after artman passes this in
@@ -472,8 +575,7 @@ public class GeneratorMain {
           Lists.newArrayList(cl.getOptionValues(enabledArtifactsOption.getLongOpt())));
     }
     DiscoGapicGeneratorApp codeGen = new DiscoGapicGeneratorApp(toolOptions, artifactType);
-    int exitCode = codeGen.run();
-    System.exit(exitCode);
+    return codeGen.run();
   }
 
   private static void checkFiles(List<String> files) {
@@ -488,6 +590,18 @@ public class GeneratorMain {
     }
   }
 
+  private static void setParallelism(CommandLine cl, ToolOptions toolOptions) {
+    String parallelism = cl.getOptionValue(PARALLELISM_OPTION.getLongOpt());
+    if (parallelism == null) {
+      return;
+    }
+    try {
+      toolOptions.set(GapicGeneratorApp.PARALLELISM, Integer.parseInt(parallelism));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid value for --parallelism: " + parallelism, e);
+    }
+  }
+
   // Throws an exception if neither option was given.
   private static void checkAtLeastOneOption(CommandLine cl, Option option1, Option option2) {
     if (cl.getOptionValues(option1.getLongOpt()) == null
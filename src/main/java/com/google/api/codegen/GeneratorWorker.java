@@ -0,0 +1,128 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen;
+
+import com.google.api.codegen.worker.WorkRequest;
+import com.google.api.codegen.worker.WorkResponse;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+
+/**
+ * A Bazel persistent worker for GeneratorMain. Bazel starts the worker once with the {@code
+ * --persistent_worker} flag and then sends length-delimited WorkRequests on stdin, each of which
+ * holds the command line of one generation. A WorkResponse is written to stdout for every request.
+ *
+ * <p>Every request runs through {@link GeneratorMain#run}, which creates a fresh model, diagnostic
+ * collector, set of generators and, if the request asks for parallelism, thread pool. Process-wide
+ * immutable caches, such as the parsed snippet templates, stay warm across requests. A request
+ * which fails, including with an Error, gets a response with exit code 1 and does not bring the
+ * worker down.
+ */
+public class GeneratorWorker {
+
+  public static final String PERSISTENT_WORKER_FLAG = "--persistent_worker";
+
+  private static final String OUTPUT_ENCODING = "UTF-8";
+
+  private final InputStream requestStream;
+  private final PrintStream responseStream;
+  private final PrintStream logStream;
+  private final RequestRunner requestRunner;
+
+  /**
+   * Creates a worker.
+   *
+   * @param requestStream the stream to read work requests from, normally stdin
+   * @param responseStream the stream to write work responses to, normally stdout
+   * @param logStream the stream for worker-level logs, normally stderr
+   */
+  public GeneratorWorker(
+      InputStream requestStream, PrintStream responseStream, PrintStream logStream) {
+    this(
+        requestStream,
+        responseStream,
+        logStream,
+        args -> GeneratorMain.run(GeneratorMain.expandParamFiles(args)));
+  }
+
+  @VisibleForTesting
+  GeneratorWorker(
+      InputStream requestStream,
+      PrintStream responseStream,
+      PrintStream logStream,
+      RequestRunner requestRunner) {
+    this.requestStream = requestStream;
+    this.responseStream = responseStream;
+    this.logStream = logStream;
+    this.requestRunner = requestRunner;
+  }
+
+  /** Serves work requests until the request stream is closed. */
+  public void run() throws IOException {
+    while (true) {
+      WorkRequest request = WorkRequest.parseDelimitedFrom(requestStream);
+      if (request == null) {
+        return;
+      }
+      handle(request).writeDelimitedTo(responseStream);
+      responseStream.flush();
+    }
+  }
+
+  /** Runs a single work request and returns its response. */
+  WorkResponse handle(WorkRequest request) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PrintStream outputStream = new PrintStream(output, true, OUTPUT_ENCODING);
+
+    // stdout carries the worker protocol, so anything the generator prints must be captured and
+    // returned in the response instead.
+    PrintStream systemOut = System.out;
+    PrintStream systemErr = System.err;
+    System.setOut(outputStream);
+    System.setErr(outputStream);
+    int exitCode;
+    try {
+      String[] args = request.getArgumentsList().toArray(new String[0]);
+      exitCode = requestRunner.run(args);
+    } catch (Throwable e) {
+      // Errors such as an AssertionError or a StackOverflowError only fail this request; Bazel
+      // must get a response for it, or it would consider the whole worker broken.
+      e.printStackTrace(outputStream);
+      exitCode = 1;
+    } finally {
+      System.setOut(systemOut);
+      System.setErr(systemErr);
+    }
+
+    outputStream.flush();
+    if (exitCode != 0) {
+      logStream.println("Work request failed with exit code " + exitCode);
+    }
+    return WorkResponse.newBuilder()
+        .setExitCode(exitCode)
+        .setOutput(output.toString(OUTPUT_ENCODING))
+        .setRequestId(request.getRequestId())
+        .build();
+  }
+
+  /** Runs the generator with the arguments of one work request and returns its exit code. */
+  @VisibleForTesting
+  interface RequestRunner {
+    int run(String[] args) throws Exception;
+  }
+}
@@ -19,18 +19,16 @@ import static com.google.api.codegen.ArtifactType.GAPIC_CODE;
 import com.google.api.codegen.gapic.GapicGeneratorApp;
 import com.google.api.codegen.gapic.ProtocGapicWriter;
 import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.tools.FileWrapper;
 import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.api.tools.framework.tools.ToolUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
-import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
 import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.google.protobuf.compiler.PluginProtos;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -45,6 +43,9 @@ public class ProtocGeneratorMain {
 
   private static final ArtifactType DEFAULT_ARTIFACT_TYPE = GAPIC_CODE;
 
+  // The name under which diagnostics refer to the descriptor set of the request.
+  private static final String DESCRIPTOR_SET_NAME = "CodeGeneratorRequest";
+
   public static void main(String[] args) {
     CodeGeneratorResponse response;
     CodeGeneratorRequest request;
@@ -93,6 +94,7 @@ public class ProtocGeneratorMain {
   public static CodeGeneratorResponse generate(CodeGeneratorRequest request) {
     try {
       ToolOptions toolOptions = parseOptions(request);
+      toolOptions.set(ToolOptions.DESCRIPTOR_SET_CONTENTS, createDescriptorSet(request));
 
       ProtocGapicWriter gapicWriter = new ProtocGapicWriter();
       GapicGeneratorApp codeGen =
@@ -113,38 +115,31 @@ public class ProtocGeneratorMain {
     }
   }
 
-  private static ToolOptions parseOptions(CodeGeneratorRequest request) throws Exception {
-    List<FileDescriptorProto> fileDescriptorProtoList = request.getProtoFileList();
+  /**
+   * Returns the proto files of the request as the contents of a FileDescriptorSet. The model is
+   * built from these bytes in memory, so no descriptor set file is written. The bytes are still
+   * parsed once by the model builder, which needs the extension registry of the generator.
+   */
+  @VisibleForTesting
+  public static FileWrapper createDescriptorSet(CodeGeneratorRequest request) {
     FileDescriptorSet descriptorSet =
-        FileDescriptorSet.newBuilder().addAllFile(fileDescriptorProtoList).build();
-
-    // Write out DescriptorSet to temp file.
-    File descriptorSetFile;
-
-    descriptorSetFile = File.createTempFile("api", ".desc");
-    FileOutputStream fileoutput = new FileOutputStream(descriptorSetFile);
-    descriptorSet.writeTo(fileoutput);
-    fileoutput.close();
-    descriptorSetFile.deleteOnExit();
+        FileDescriptorSet.newBuilder().addAllFile(request.getProtoFileList()).build();
+    return FileWrapper.create(DESCRIPTOR_SET_NAME, descriptorSet.toByteString());
+  }
 
+  private static ToolOptions parseOptions(CodeGeneratorRequest request) throws Exception {
     List<String> parsedArgs = new LinkedList<>();
-    parsedArgs.add("--descriptor_set");
-    parsedArgs.add(descriptorSetFile.getAbsolutePath());
 
     List<String> protoPackages = getProtoPackageList(request);
-    if (protoPackages.size() > 1) {
-      // For now, assume there will be exactly one proto package to be generated. This behavior
-      // can be changed when the use case arises.
-      throw new IllegalStateException(
-          String.format(
-              "Not expecting more than one proto package."
-                  + " Found proto packages for generation: %s",
-              protoPackages.toString()));
-    } else if (protoPackages.size() == 0) {
+    if (protoPackages.size() == 0) {
       throw new IllegalStateException("No proto files given to generate.");
     }
-    parsedArgs.add("--package");
-    parsedArgs.add(protoPackages.get(0));
+    // Every package is generated from the same model; when there is more than one, the output of
+    // each is placed under a directory named after the package.
+    for (String protoPackage : protoPackages) {
+      parsedArgs.add("--package");
+      parsedArgs.add(protoPackage);
+    }
 
     // Parse plugin params, ignoring unknown params.
     String[] requestArgs = request.getParameter().split(",");
@@ -17,8 +17,8 @@ package com.google.api.codegen.clientconfig;
 import com.google.api.codegen.SnippetSetRunner;
 import com.google.api.codegen.common.CodegenContext;
 import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.rendering.SnippetSetCache;
 import com.google.api.tools.framework.snippet.Doc;
-import com.google.api.tools.framework.snippet.SnippetSet;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 
@@ -35,11 +35,13 @@ public class ClientConfigSnippetSetRunner<ElementT> implements SnippetSetRunner<
   public Map<String, GeneratedResult<Doc>> generate(
       ElementT element, String snippetFileName, CodegenContext context) {
     ClientConfigSnippetSet<ElementT> snippets =
-        SnippetSet.createSnippetInterface(
-            ClientConfigSnippetSet.class,
-            resourceRoot,
-            snippetFileName,
-            ImmutableMap.of("context", context));
+        SnippetSetCache.getInstance()
+            .createSnippetInterface(
+                ClientConfigSnippetSet.class,
+                resourceRoot,
+                snippetFileName,
+                ImmutableMap.of("context", context),
+                context);
 
     String outputFilename = snippets.generateFilename(element).prettyPrint();
     Doc body = snippets.generateBody(element);
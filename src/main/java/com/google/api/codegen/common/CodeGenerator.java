@@ -33,4 +33,19 @@ public interface CodeGenerator<T> {
 
   /** Runs code generation and returns a map from relative file paths to generated files. */
   Map<String, GeneratedResult<T>> generate() throws IOException;
+
+  /**
+   * Runs code generation and passes each generated file to the sink instead of returning them all
+   * at once. The default implementation generates the full map first; generators that can release
+   * each file body as soon as it is rendered should override it.
+   */
+  default void generate(GeneratedResultSink sink) throws IOException {
+    Map<String, GeneratedResult<T>> results = generate();
+    if (results == null) {
+      return;
+    }
+    for (Map.Entry<String, GeneratedResult<T>> entry : results.entrySet()) {
+      sink.accept(entry.getKey(), entry.getValue());
+    }
+  }
 }
@@ -0,0 +1,28 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.common;
+
+import java.io.IOException;
+
+/** Receives generated results one at a time, as soon as a CodeGenerator produces them. */
+public interface GeneratedResultSink {
+
+  /**
+   * Accepts the generated result for the given relative file path.
+   *
+   * @throws IllegalArgumentException if a result has already been accepted for the path
+   */
+  void accept(String path, GeneratedResult<?> result) throws IOException;
+}
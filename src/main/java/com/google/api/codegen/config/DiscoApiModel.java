@@ -15,11 +15,15 @@
 package com.google.api.codegen.config;
 
 import com.google.api.codegen.discovery.Document;
+import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.util.Name;
 import com.google.api.tools.framework.model.BoundedDiagCollector;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
 import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
 
 /**
  * Utility class that provides data from a Discovery document.
@@ -32,6 +36,12 @@ public class DiscoApiModel implements ApiModel {
   private ImmutableList<DiscoInterfaceModel> interfaceModels;
   private final String defaultPackageName;
 
+  // The fields created for the schemas of this model. Weak keys are compared by identity, so equal
+  // schemas in different places of the document get their own fields.
+  private final ConcurrentMap<Schema, DiscoveryField> discoveryFields =
+      new MapMaker().weakKeys().makeMap();
+  private final DiscoveryField.SchemaNamer schemaNamer = new DiscoveryField.SchemaNamer();
+
   @Override
   public String getServiceName() {
     return document.canonicalName();
@@ -109,4 +119,25 @@ public class DiscoApiModel implements ApiModel {
   public String getDefaultPackageName() {
     return defaultPackageName;
   }
+
+  /** Returns the field interned for the given schema, or null if there is none yet. */
+  @Nullable
+  DiscoveryField getInternedField(Schema schema) {
+    return discoveryFields.get(schema);
+  }
+
+  /**
+   * Interns the given field, and returns the field that is interned for its schema; this is the
+   * given field unless another one was interned for the same schema first.
+   */
+  DiscoveryField internField(DiscoveryField field) {
+    DiscoveryField internedField =
+        discoveryFields.putIfAbsent(field.getOriginalDiscoveryField(), field);
+    return internedField != null ? internedField : field;
+  }
+
+  /** Returns the namer of the message types in the namespace of this model. */
+  DiscoveryField.SchemaNamer getSchemaNamer() {
+    return schemaNamer;
+  }
 }
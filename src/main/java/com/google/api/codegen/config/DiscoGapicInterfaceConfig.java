@@ -172,12 +172,7 @@ public abstract class DiscoGapicInterfaceConfig implements InterfaceConfig {
   public abstract List<DiscoGapicMethodConfig> getMethodConfigs();
 
   private static Method lookupMethod(Document source, String lookupMethod) {
-    for (com.google.api.codegen.discovery.Method method : source.methods()) {
-      if (method.id().equals(lookupMethod)) {
-        return method;
-      }
-    }
-    return null;
+    return source.methodById(lookupMethod);
   }
 
   private static ImmutableMap<String, DiscoGapicMethodConfig> createMethodConfigMap(
@@ -201,6 +201,15 @@ public abstract class DiscoGapicInterfaceContext implements InterfaceContext {
   public DiscoGapicMethodConfig getMethodConfig(MethodModel method) {
     String methodName = method.getFullName();
     for (InterfaceConfig config : getProductConfig().getInterfaceConfigMap().values()) {
+      if (config instanceof DiscoGapicInterfaceConfig) {
+        // Method configs are keyed by method ID, which is the full name of the method.
+        MethodConfig methodConfig =
+            ((DiscoGapicInterfaceConfig) config).getMethodConfigMap().get(methodName);
+        if (methodConfig != null) {
+          return (DiscoGapicMethodConfig) methodConfig;
+        }
+        continue;
+      }
       for (MethodConfig methodConfig : config.getMethodConfigs()) {
         if (methodConfig.getMethodModel().getFullName().equals(methodName)) {
           return (DiscoGapicMethodConfig) methodConfig;
@@ -32,7 +32,6 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -64,10 +63,6 @@ public class DiscoveryField implements FieldModel, TypeModel {
   private static Comparator<String> caseInsensitiveComparator =
       (String s1, String s2) -> s1.compareToIgnoreCase(s2);
 
-  // For each namespace, stores the symbol table and table of schemas and their names to
-  // ensure unique message type names for each namespace.
-  private static Map<String, SchemaNamer> namespaceToSchemaNamer = new HashMap<>();
-
   /**
    * Create a FieldModel object from a non-null Schema object, and internally dereference the input
    * schema.
@@ -89,9 +84,7 @@ public class DiscoveryField implements FieldModel, TypeModel {
     this.namespace = apiModel == null ? DEFAULT_NAMESPACE : apiModel.getDefaultPackageName();
     if (isTopLevelSchema(schema) && apiModel != null) {
       // Within this namespace, get a unique name for this message-type schema.
-      SchemaNamer messageNamer =
-          namespaceToSchemaNamer.computeIfAbsent(namespace, k -> new SchemaNamer());
-      simpleName = messageNamer.getSchemaName(schema, simpleName);
+      simpleName = apiModel.getSchemaNamer().getSchemaName(schema, simpleName);
     }
     this.typeName = simpleName;
 
@@ -102,13 +95,26 @@ public class DiscoveryField implements FieldModel, TypeModel {
     this.properties = propertiesBuilder.build();
   }
 
-  /** Create a FieldModel object from a non-null Schema object. */
-  public static synchronized DiscoveryField create(Schema schema, DiscoApiModel rootApiModel) {
-    if (!Strings.isNullOrEmpty(schema.reference()) && rootApiModel != null) {
+  /**
+   * Create a FieldModel object from a non-null Schema object.
+   *
+   * <p>Fields of a Discovery API model are interned in the model, so that the field tree of each
+   * schema is only built once per model.
+   */
+  public static DiscoveryField create(Schema schema, DiscoApiModel rootApiModel) {
+    if (rootApiModel == null) {
+      return new DiscoveryField(schema, null);
+    }
+    DiscoveryField field = rootApiModel.getInternedField(schema);
+    if (field != null) {
+      return field;
+    }
+    if (!Strings.isNullOrEmpty(schema.reference())) {
       // First create a DiscoveryField for the underlying referenced Schema.
       create(schema.dereference(), rootApiModel);
     }
-    return new DiscoveryField(schema, rootApiModel);
+    // Not built under a lock; if another thread interned the schema first, its field is used.
+    return rootApiModel.internField(new DiscoveryField(schema, rootApiModel));
   }
 
   /** @return the JSON identifier for this field, unchanged from the Discovery doc. */
@@ -482,14 +488,14 @@ public class DiscoveryField implements FieldModel, TypeModel {
         && getParentFullName().equals(((DiscoveryField) o).getParentFullName());
   }
 
-  // Util class for getting unique names within namespaces for message type schemas.
-  private class SchemaNamer {
-    private SymbolTable idSymbolTable = new SymbolTable(caseInsensitiveComparator);
+  // Util class for getting unique names within the namespace of a model for message type schemas.
+  static class SchemaNamer {
+    private final SymbolTable idSymbolTable = new SymbolTable(caseInsensitiveComparator);
 
     // Stores the escaped name for each message-type schema.
-    private Map<Schema, String> messageNames = new TreeMap<>(messageSchemaComparator);
+    private final Map<Schema, String> messageNames = new TreeMap<>(messageSchemaComparator);
 
-    String getSchemaName(Schema schema, String basename) {
+    synchronized String getSchemaName(Schema schema, String basename) {
       return messageNames.computeIfAbsent(schema, k -> idSymbolTable.getNewSymbol(basename));
     }
   }
@@ -29,6 +29,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,7 +44,7 @@ public final class DiscoveryMethodModel implements MethodModel {
   private final TypeModel outputType;
   private List<DiscoveryField> inputFields;
   private List<DiscoveryField> outputFields;
-  private List<DiscoveryField> resourceNameInputFields;
+  private Map<String, DiscoveryField> inputFieldsByParameterName;
   private final DiscoApiModel apiModel;
   private final boolean hasExtraFieldMask;
   private final DiscoveryField fieldMaskField;
@@ -203,38 +204,21 @@ public final class DiscoveryMethodModel implements MethodModel {
     return method.description();
   }
 
-  private List<DiscoveryField> getResourceNameInputFields() {
-    if (resourceNameInputFields != null) {
-      return resourceNameInputFields;
-    }
-
-    ImmutableList.Builder<DiscoveryField> params = ImmutableList.builder();
-    for (DiscoveryField field : getInputFields()) {
-      if (field.getDiscoveryField().isPathParam()) {
-        params.add(field);
-      }
-    }
-    resourceNameInputFields = params.build();
-    return resourceNameInputFields;
-  }
-
   @Override
   public List<DiscoveryField> getInputFieldsForResourceNameMethod() {
     List<DiscoveryField> fields = new LinkedList<>();
     for (DiscoveryField field : getInputFields()) {
-      if (!getResourceNameInputFields().contains(field)) {
-        // Only add fields that aren't part of the ResourceName.
+      // Only add fields that aren't part of the ResourceName, which are the path parameters.
+      if (!field.getDiscoveryField().isPathParam()) {
         fields.add(field);
       }
     }
 
     // Add the field that represents the ResourceName.
     String resourceName = DiscoGapicParser.getResourceIdentifier(method.flatPath()).toLowerCamel();
-    for (DiscoveryField field : getInputFields()) {
-      if (field.getNameAsParameterName().toLowerCamel().equals(resourceName)) {
-        fields.add(field);
-        break;
-      }
+    DiscoveryField resourceNameField = getInputFieldsByParameterName().get(resourceName);
+    if (resourceNameField != null) {
+      fields.add(resourceNameField);
     }
     return fields;
   }
@@ -261,6 +245,20 @@ public final class DiscoveryMethodModel implements MethodModel {
     return inputFields;
   }
 
+  /** Returns the input fields keyed by their name as a parameter; the first field wins. */
+  private Map<String, DiscoveryField> getInputFieldsByParameterName() {
+    if (inputFieldsByParameterName != null) {
+      return inputFieldsByParameterName;
+    }
+
+    Map<String, DiscoveryField> fieldsByName = new HashMap<>();
+    for (DiscoveryField field : getInputFields()) {
+      fieldsByName.putIfAbsent(field.getNameAsParameter(), field);
+    }
+    inputFieldsByParameterName = fieldsByName;
+    return inputFieldsByParameterName;
+  }
+
   private DiscoveryField createFieldMaskField() {
     // TODO(andreamlin): Change this to a Set instead of a List.
     return DiscoveryField.create(
@@ -14,21 +14,23 @@
  */
 package com.google.api.codegen.config;
 
+import com.google.api.codegen.gapic.GapicParser;
 import com.google.api.codegen.gapic.ProtoModels;
 import com.google.api.codegen.transformer.FeatureConfig;
 import com.google.api.codegen.transformer.ModelTypeTable;
 import com.google.api.codegen.transformer.SurfaceNamer;
-import com.google.api.tools.framework.aspects.documentation.model.DocumentationUtil;
 import com.google.api.tools.framework.model.Interface;
 import com.google.api.tools.framework.model.Method;
 import com.google.api.tools.framework.model.Model;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import javax.annotation.Nullable;
 
 /**
@@ -37,7 +39,8 @@ import javax.annotation.Nullable;
  */
 @AutoValue
 public abstract class GapicInterfaceContext implements InterfaceContext {
-  private ImmutableList<MethodModel> interfaceMethods;
+  // Shared by all contexts derived from the same context through withNewTypeTable.
+  private MethodIndex methodIndex;
 
   public static GapicInterfaceContext create(
       Interface apiInterface,
@@ -56,13 +59,34 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
       SurfaceNamer namer,
       FeatureConfig featureConfig) {
     ProtoInterfaceModel protoInterface = (ProtoInterfaceModel) apiInterface;
-    return new AutoValue_GapicInterfaceContext(
-        protoInterface,
-        productConfig,
-        typeTable,
-        namer,
-        featureConfig,
-        createGrpcRerouteMap(protoInterface.getInterface().getModel(), productConfig));
+    GapicInterfaceContext context =
+        new AutoValue_GapicInterfaceContext(
+            protoInterface,
+            productConfig,
+            typeTable,
+            namer,
+            featureConfig,
+            createGrpcRerouteMap(protoInterface.getInterface().getModel(), productConfig));
+    context.methodIndex = new MethodIndex(context);
+    return context;
+  }
+
+  /**
+   * Creates a context for the same interface and methods as this context, which shares the
+   * classification of the methods of this context.
+   */
+  private GapicInterfaceContext derive(
+      GapicProductConfig productConfig, ModelTypeTable typeTable, SurfaceNamer namer) {
+    GapicInterfaceContext context =
+        new AutoValue_GapicInterfaceContext(
+            getInterfaceModel(),
+            productConfig,
+            typeTable,
+            namer,
+            getFeatureConfig(),
+            getGrpcRerouteMap());
+    context.methodIndex = methodIndex;
+    return context;
   }
 
   private static Map<Interface, Interface> createGrpcRerouteMap(
@@ -122,22 +146,16 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
 
   @Override
   public GapicInterfaceContext withNewTypeTable() {
-    return create(
-        getInterface(),
-        getProductConfig(),
-        getImportTypeTable().cloneEmpty(),
-        getNamer(),
-        getFeatureConfig());
+    return derive(getProductConfig(), getImportTypeTable().cloneEmpty(), getNamer());
   }
 
   @Override
   public GapicInterfaceContext withNewTypeTable(String packageName) {
-    return create(
-        getInterface(),
+    // Only the package name changes, so the interface and method configs stay the same.
+    return derive(
         getProductConfig().withPackageName(packageName),
         getImportTypeTable().cloneEmpty(packageName),
-        getNamer().cloneWithPackageName(packageName),
-        getFeatureConfig());
+        getNamer().cloneWithPackageName(packageName));
   }
 
   @Override
@@ -151,12 +169,7 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
    * <p>If the method is a gRPC re-route method, returns the MethodConfig of the original method.
    */
   public GapicMethodConfig getMethodConfig(MethodModel method) {
-    Interface originalInterface = getInterface();
-    if (getGrpcRerouteMap().containsKey(originalInterface)) {
-      originalInterface = getGrpcRerouteMap().get(originalInterface);
-    }
-    InterfaceConfig originalInterfaceConfig =
-        getProductConfig().getInterfaceConfig(originalInterface);
+    InterfaceConfig originalInterfaceConfig = methodIndex.originalInterfaceConfig.get();
     if (originalInterfaceConfig != null) {
       return (GapicMethodConfig) originalInterfaceConfig.getMethodConfig(method);
     } else {
@@ -204,28 +217,13 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
   /** Returns a list of methods for this interface that have method configs. Memoize the result. */
   @Override
   public List<MethodModel> getInterfaceConfigMethods() {
-    if (interfaceMethods != null) {
-      return interfaceMethods;
-    }
-
-    ImmutableList.Builder<MethodModel> methodBuilder = ImmutableList.builder();
-    for (MethodConfig methodConfig : getInterfaceConfig().getMethodConfigs()) {
-      methodBuilder.add(new ProtoMethodModel(((GapicMethodConfig) methodConfig).getMethod()));
-    }
-    interfaceMethods = methodBuilder.build();
-    return interfaceMethods;
+    return methodIndex.interfaceConfigMethods.get();
   }
 
   /** Returns a list of supported methods, configured by FeatureConfig. */
   @Override
   public List<MethodModel> getSupportedMethods() {
-    List<MethodModel> methods = new ArrayList<>(getInterfaceConfig().getMethodConfigs().size());
-    for (MethodModel methodModel : getInterfaceConfigMethods()) {
-      if (isSupported(methodModel)) {
-        methods.add(methodModel);
-      }
-    }
-    return methods;
+    return methodIndex.supportedMethods.get();
   }
 
   /**
@@ -234,14 +232,7 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
    */
   @Override
   public List<MethodModel> getPublicMethods() {
-    List<MethodModel> methods = new ArrayList<>(getInterfaceConfig().getMethodConfigs().size());
-    for (MethodModel method : getInterfaceConfigMethods()) {
-      VisibilityConfig visibility = getInterfaceConfig().getMethodConfig(method).getVisibility();
-      if (isSupported(method) && visibility == VisibilityConfig.PUBLIC) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return methodIndex.publicMethods.get();
   }
 
   @Override
@@ -255,50 +246,26 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
 
   @Override
   public List<MethodModel> getPageStreamingMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).isPageStreaming()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return methodIndex.pageStreamingMethods.get();
   }
 
   @Override
   public List<MethodModel> getBatchingMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).isBatching()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return methodIndex.batchingMethods.get();
   }
 
   @Override
   public Iterable<MethodModel> getLongRunningMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).hasLroConfig()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return methodIndex.longRunningMethods.get();
   }
 
   public Iterable<MethodModel> getGrpcStreamingMethods() {
-    List<MethodModel> methods = new ArrayList<>();
-    for (MethodModel method : getSupportedMethods()) {
-      if (getMethodConfig(method).isGrpcStreaming()) {
-        methods.add(method);
-      }
-    }
-    return methods;
+    return methodIndex.grpcStreamingMethods.get();
   }
 
   @Override
   public String getInterfaceDescription() {
-    return DocumentationUtil.getScopedDescription(getInterface());
+    return GapicParser.getDocString(getInterface());
   }
 
   @Override
@@ -315,4 +282,88 @@ public abstract class GapicInterfaceContext implements InterfaceContext {
     }
     return getModel().getServiceConfig().getName();
   }
+
+  /**
+   * The classification of the methods of an interface, which is computed on first use and shared by
+   * all contexts derived through withNewTypeTable, since they all have the same interface and
+   * method configs.
+   */
+  private static final class MethodIndex {
+    private final Supplier<InterfaceConfig> originalInterfaceConfig;
+    private final Supplier<ImmutableList<MethodModel>> interfaceConfigMethods;
+    private final Supplier<ImmutableList<MethodModel>> supportedMethods;
+    private final Supplier<ImmutableList<MethodModel>> publicMethods;
+    private final Supplier<ImmutableList<MethodModel>> pageStreamingMethods;
+    private final Supplier<ImmutableList<MethodModel>> batchingMethods;
+    private final Supplier<ImmutableList<MethodModel>> longRunningMethods;
+    private final Supplier<ImmutableList<MethodModel>> grpcStreamingMethods;
+
+    private MethodIndex(GapicInterfaceContext context) {
+      originalInterfaceConfig =
+          Suppliers.memoize(
+              () -> {
+                Interface originalInterface = context.getInterface();
+                if (context.getGrpcRerouteMap().containsKey(originalInterface)) {
+                  originalInterface = context.getGrpcRerouteMap().get(originalInterface);
+                }
+                return context.getProductConfig().getInterfaceConfig(originalInterface);
+              });
+      interfaceConfigMethods =
+          Suppliers.memoize(
+              () -> {
+                ImmutableList.Builder<MethodModel> methodBuilder = ImmutableList.builder();
+                for (MethodConfig methodConfig : context.getInterfaceConfig().getMethodConfigs()) {
+                  methodBuilder.add(
+                      new ProtoMethodModel(((GapicMethodConfig) methodConfig).getMethod()));
+                }
+                return methodBuilder.build();
+              });
+      supportedMethods =
+          Suppliers.memoize(() -> filter(interfaceConfigMethods.get(), context::isSupported));
+      // Public methods are the supported methods with public visibility.
+      publicMethods =
+          Suppliers.memoize(
+              () ->
+                  filter(
+                      supportedMethods.get(),
+                      method ->
+                          context.getInterfaceConfig().getMethodConfig(method).getVisibility()
+                              == VisibilityConfig.PUBLIC));
+      pageStreamingMethods =
+          Suppliers.memoize(
+              () ->
+                  filter(
+                      supportedMethods.get(),
+                      method -> context.getMethodConfig(method).isPageStreaming()));
+      batchingMethods =
+          Suppliers.memoize(
+              () ->
+                  filter(
+                      supportedMethods.get(),
+                      method -> context.getMethodConfig(method).isBatching()));
+      longRunningMethods =
+          Suppliers.memoize(
+              () ->
+                  filter(
+                      supportedMethods.get(),
+                      method -> context.getMethodConfig(method).hasLroConfig()));
+      grpcStreamingMethods =
+          Suppliers.memoize(
+              () ->
+                  filter(
+                      supportedMethods.get(),
+                      method -> context.getMethodConfig(method).isGrpcStreaming()));
+    }
+
+    private static ImmutableList<MethodModel> filter(
+        List<MethodModel> methods, Predicate<MethodModel> predicate) {
+      ImmutableList.Builder<MethodModel> filteredMethods = ImmutableList.builder();
+      for (MethodModel method : methods) {
+        if (predicate.test(method)) {
+          filteredMethods.add(method);
+        }
+      }
+      return filteredMethods.build();
+    }
+  }
 }
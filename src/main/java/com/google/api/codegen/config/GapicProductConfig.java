@@ -42,6 +42,8 @@ import com.google.api.tools.framework.tools.ToolUtil;
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedMap;
@@ -156,6 +158,22 @@ public abstract class GapicProductConfig implements ProductConfig {
       @Nullable String protoPackage,
       @Nullable String clientPackage,
       TargetLanguage language) {
+    return create(prepare(model, configProto, protoPackage), clientPackage, language);
+  }
+
+  /**
+   * Resolves the parts of the product config which are the same for every target language: the
+   * source protos, the resource definitions and the resource name message configs. The result can
+   * be passed to {@link #create(LanguageIndependentConfig, String, TargetLanguage)} for any number
+   * of languages, so that they are only resolved once per model.
+   *
+   * @param model The protobuf model for which we are creating a config.
+   * @param configProto The parsed set of config files from input
+   * @param protoPackage The source proto package, as opposed to imported protos, that we will
+   *     generate clients for.
+   */
+  public static LanguageIndependentConfig prepare(
+      Model model, @Nullable ConfigProto configProto, @Nullable String protoPackage) {
 
     final String defaultPackage;
     SymbolTable symbolTable = model.getSymbolTable();
@@ -218,14 +236,48 @@ public abstract class GapicProductConfig implements ProductConfig {
         ResourceNameMessageConfigs.createMessageResourceTypesConfig(
             sourceProtos, configProto, defaultPackage, resourceDefs, resourceSetDefs, protoParser);
 
+    return new LanguageIndependentConfig(
+        model,
+        configProto,
+        protoPackage,
+        defaultPackage,
+        sourceProtos,
+        protoParser,
+        resourceDefs,
+        resourceSetDefs,
+        messageConfigs);
+  }
+
+  /**
+   * Creates the product config for one language from the language-independent parts of the config.
+   * On errors, null will be returned, and diagnostics are reported to the model.
+   *
+   * @param clientPackage The desired package name for the generated client.
+   * @param language The language that this config will be used to generate a client in.
+   */
+  @Nullable
+  public static GapicProductConfig create(
+      LanguageIndependentConfig sharedConfig,
+      @Nullable String clientPackage,
+      TargetLanguage language) {
+    Model model = sharedConfig.model;
+    ConfigProto configProto = sharedConfig.configProto;
+    String protoPackage = sharedConfig.protoPackage;
+    String defaultPackage = sharedConfig.defaultPackage;
+    List<ProtoFile> sourceProtos = sharedConfig.sourceProtos;
+    ProtoParser protoParser = sharedConfig.protoParser;
+    ResourceNameMessageConfigs messageConfigs = sharedConfig.messageConfigs;
+    SymbolTable symbolTable = model.getSymbolTable();
+    DiagCollector diagCollector = model.getDiagReporter().getDiagCollector();
+
     ImmutableMap<String, ResourceNameConfig> resourceNameConfigs =
         createResourceNameConfigs(
             diagCollector,
             configProto,
             sourceProtos,
             language,
-            resourceDefs,
-            resourceSetDefs,
+            sharedConfig.resourceDefs,
+            sharedConfig.resourceSetDefs,
             protoParser);
 
     if (resourceNameConfigs == null) {
@@ -251,8 +303,7 @@ public abstract class GapicProductConfig implements ProductConfig {
       clientPackageName = settings.getPackageName();
     }
 
-    ImmutableMap<String, Interface> protoInterfaces =
-        getInterfacesFromProtoFile(diagCollector, sourceProtos, symbolTable);
+    ImmutableMap<String, Interface> protoInterfaces = sharedConfig.protoInterfaces.get();
 
     // Collect the interfaces (clients) and methods that we will generate on the surface.
     // Not all methods defined in the protofiles will be generated on the surface.
@@ -414,6 +465,64 @@ public abstract class GapicProductConfig implements ProductConfig {
         enableStringFormatFunctionsOverride);
   }
 
+  /**
+   * The parts of a GapicProductConfig which do not depend on the target language, created by {@link
+   * #prepare}. Instances are immutable and can be shared by the product configs of all languages
+   * generated from the same model.
+   */
+  public static final class LanguageIndependentConfig {
+    private final Model model;
+    private final ConfigProto configProto;
+    @Nullable private final String protoPackage;
+    private final String defaultPackage;
+    private final ImmutableList<ProtoFile> sourceProtos;
+    private final ProtoParser protoParser;
+    private final Map<Resource, ProtoFile> resourceDefs;
+    private final Map<ResourceSet, ProtoFile> resourceSetDefs;
+    private final ResourceNameMessageConfigs messageConfigs;
+    // Resolved on first use, so that its diagnostics are reported in the same order as before the
+    // config was split.
+    private final Supplier<ImmutableMap<String, Interface>> protoInterfaces;
+
+    private LanguageIndependentConfig(
+        Model model,
+        ConfigProto configProto,
+        @Nullable String protoPackage,
+        String defaultPackage,
+        List<ProtoFile> sourceProtos,
+        ProtoParser protoParser,
+        Map<Resource, ProtoFile> resourceDefs,
+        Map<ResourceSet, ProtoFile> resourceSetDefs,
+        ResourceNameMessageConfigs messageConfigs) {
+      this.model = model;
+      this.configProto = configProto;
+      this.protoPackage = protoPackage;
+      this.defaultPackage = defaultPackage;
+      this.sourceProtos = ImmutableList.copyOf(sourceProtos);
+      this.protoParser = protoParser;
+      this.resourceDefs = resourceDefs;
+      this.resourceSetDefs = resourceSetDefs;
+      this.messageConfigs = messageConfigs;
+      this.protoInterfaces =
+          Suppliers.memoize(
+              () ->
+                  getInterfacesFromProtoFile(
+                      model.getDiagReporter().getDiagCollector(),
+                      this.sourceProtos,
+                      model.getSymbolTable()));
+    }
+
+    /** Returns the model the config was resolved from. */
+    public Model getModel() {
+      return model;
+    }
+
+    /** Returns the proto package that clients are generated for. */
+    public String getDefaultPackage() {
+      return defaultPackage;
+    }
+  }
+
   /** Creates an GapicProductConfig with no content. Exposed for testing. */
   @VisibleForTesting
   public static GapicProductConfig createDummyInstance() {
@@ -17,12 +17,12 @@ package com.google.api.codegen.config;
 import static com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Type.TYPE_BYTES;
 import static com.google.protobuf.DescriptorProtos.FieldDescriptorProto.Type.TYPE_STRING;
 
+import com.google.api.codegen.gapic.GapicParser;
 import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.ModelTypeNameConverter;
 import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.TypeName;
-import com.google.api.tools.framework.aspects.documentation.model.DocumentationUtil;
 import com.google.api.tools.framework.model.Field;
 import com.google.api.tools.framework.model.Oneof;
 import com.google.api.tools.framework.model.TypeRef.Cardinality;
@@ -131,7 +131,7 @@ public class ProtoField implements FieldModel {
 
   @Override
   public String getScopedDocumentation() {
-    return DocumentationUtil.getScopedDescription(protoField);
+    return GapicParser.getDocString(protoField);
   }
 
   public static ImmutableList<ImmutableList<String>> getOneofFieldsNames(
@@ -15,6 +15,7 @@
 package com.google.api.codegen.config;
 
 import com.google.api.codegen.configgen.CollectionPattern;
+import com.google.api.codegen.gapic.GapicParser;
 import com.google.api.codegen.gapic.ServiceMessages;
 import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.ModelTypeNameConverter;
@@ -169,7 +170,7 @@ public final class ProtoMethodModel implements MethodModel {
 
   @Override
   public String getScopedDescription() {
-    return DocumentationUtil.getScopedDescription(method);
+    return GapicParser.getDocString(method);
   }
 
   @Override
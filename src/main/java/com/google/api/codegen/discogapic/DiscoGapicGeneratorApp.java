@@ -14,8 +14,6 @@
  */
 package com.google.api.codegen.discogapic;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.codegen.ArtifactType;
 import com.google.api.codegen.ConfigProto;
 import com.google.api.codegen.common.CodeGenerator;
@@ -27,7 +25,6 @@ import com.google.api.codegen.config.DiscoApiModel;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
-import com.google.api.codegen.discovery.DiscoveryNode;
 import com.google.api.codegen.discovery.Document;
 import com.google.api.codegen.gapic.ArtifactFlags;
 import com.google.api.codegen.util.MultiYamlReader;
@@ -45,10 +42,8 @@ import com.google.common.collect.Maps;
 import com.google.inject.TypeLiteral;
 import com.google.protobuf.Message;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -111,10 +106,7 @@ public class DiscoGapicGeneratorApp {
     if (!new File(discoveryDocPath).exists()) {
       throw new IOException("File not found: " + discoveryDocPath);
     }
-    Reader reader = new InputStreamReader(new FileInputStream(new File(discoveryDocPath)));
-
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode root = mapper.readTree(reader);
+    Document document = DocumentGenerator.readDocument(Paths.get(discoveryDocPath));
 
     // Read the YAML config and convert it to proto.
     if (configFileNames.size() == 0) {
@@ -157,8 +149,7 @@ public class DiscoGapicGeneratorApp {
     String defaultPackageName =
         configProto.getLanguageSettingsMap().get(languageStr).getPackageName();
 
-    DiscoApiModel model =
-        new DiscoApiModel(Document.from(new DiscoveryNode(root)), defaultPackageName);
+    DiscoApiModel model = new DiscoApiModel(document, defaultPackageName);
 
     GapicProductConfig productConfig = GapicProductConfig.create(model, configProto, language);
 
@@ -22,22 +22,38 @@ import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.SimpleLocation;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /** Generates an in-memory Document model object from a Discovery document filepath. */
 public class DocumentGenerator {
+  // ObjectMapper is thread-safe once configured, and expensive to create.
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   private static Document createDocument(String discoveryDocPath) throws IOException {
     if (!new File(discoveryDocPath).exists()) {
       throw new FileNotFoundException("Discovery document filepath not found.");
     }
+    return readDocument(Paths.get(discoveryDocPath));
+  }
 
-    Reader reader = new InputStreamReader(new FileInputStream(new File(discoveryDocPath)));
-    ObjectMapper mapper = new ObjectMapper();
-    JsonNode root = mapper.readTree(reader);
+  /**
+   * Reads the Discovery document at the given path into a Document.
+   *
+   * <p>The file is parsed from a byte stream, which lets Jackson use its UTF-8 byte parser instead
+   * of decoding the document through a Reader first, and reads JSON as UTF-8 regardless of the
+   * platform charset. The stream is parsed as it is read, so the file is never held in memory as a
+   * whole besides its tree.
+   */
+  public static Document readDocument(Path discoveryDocPath) throws IOException {
+    JsonNode root;
+    try (InputStream input = Files.newInputStream(discoveryDocPath)) {
+      root = MAPPER.readTree(input);
+    }
     return Document.from(new DiscoveryNode(root));
   }
 
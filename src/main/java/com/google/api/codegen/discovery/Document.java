@@ -67,14 +67,18 @@ public abstract class Document implements Node {
     String description = root.getString("description");
     String id = root.getString("id");
     Map<String, Schema> schemas = parseSchemas(root);
-    List<Method> methods = parseMethods(root);
+    // Every method is parsed once; the flat method list shares its instances with the resources.
+    Map<String, List<Method>> resources = parseResources(root);
+    List<Method> methods = parseMethods(root.getObject("methods"));
+    for (List<Method> resourceMethods : resources.values()) {
+      methods.addAll(resourceMethods);
+    }
     Collections.sort(methods); // Ensure methods are ordered alphabetically by their ID.
     String ownerDomain = root.getString("ownerDomain");
     String name = root.getString("name");
     if (canonicalName.isEmpty()) {
       canonicalName = name;
     }
-    Map<String, List<Method>> resources = parseResources(root);
     String revision = root.getString("revision");
     String rootUrl = root.getString("rootUrl");
     String servicePath = root.getString("servicePath");
@@ -112,45 +116,56 @@ public abstract class Document implements Node {
     for (Schema schema : schemas.values()) {
       schema.setParent(thisDocument);
     }
+    // The resource methods are all contained in the flat method list.
     for (Method method : methods) {
       method.setParent(thisDocument);
     }
-    for (List<Method> resourceMethods : resources.values()) {
-      for (Method method : resourceMethods) {
-        method.setParent(thisDocument);
-      }
+
+    Map<String, Method> methodsById = new HashMap<>();
+    for (Method method : methods) {
+      // Like a scan of methods(), the first method with a given ID wins.
+      methodsById.putIfAbsent(method.id(), method);
+    }
+    thisDocument.methodsById = methodsById;
+
+    // The document is complete, so schema references can be resolved once instead of walking up
+    // to the document on every dereference.
+    for (Schema schema : schemas.values()) {
+      schema.resolveReferences(schemas);
+    }
+    for (Method method : methods) {
+      method.resolveReferences(schemas);
     }
 
     return thisDocument;
   }
 
+  /**
+   * Returns the methods of each top-level resource, including the methods of its nested resources,
+   * keyed by resource name.
+   */
   private static Map<String, List<Method>> parseResources(DiscoveryNode root) {
-    List<Method> methods = new ArrayList<>();
-    DiscoveryNode methodsNode = root.getObject("methods");
-    List<String> resourceNames = methodsNode.getFieldNames();
-    for (String name : resourceNames) {
-      methods.add(Method.from(methodsNode.getObject(name), null));
-    }
     Map<String, List<Method>> resources = new LinkedTreeMap<>();
     DiscoveryNode resourcesNode = root.getObject("resources");
-    resourceNames = resourcesNode.getFieldNames();
-    for (String name : resourceNames) {
-      resources.put(name, parseMethods(resourcesNode.getObject(name)));
+    for (String name : resourcesNode.getFieldNames()) {
+      resources.put(name, parseResourceMethods(resourcesNode.getObject(name)));
     }
     return resources;
   }
 
-  private static List<Method> parseMethods(DiscoveryNode root) {
-    List<Method> methods = new ArrayList<>();
-    DiscoveryNode methodsNode = root.getObject("methods");
-    List<String> resourceNames = methodsNode.getFieldNames();
-    for (String name : resourceNames) {
-      methods.add(Method.from(methodsNode.getObject(name), null));
-    }
+  private static List<Method> parseResourceMethods(DiscoveryNode root) {
+    List<Method> methods = parseMethods(root.getObject("methods"));
     DiscoveryNode resourcesNode = root.getObject("resources");
-    resourceNames = resourcesNode.getFieldNames();
-    for (String name : resourceNames) {
-      methods.addAll(parseMethods(resourcesNode.getObject(name)));
+    for (String name : resourcesNode.getFieldNames()) {
+      methods.addAll(parseResourceMethods(resourcesNode.getObject(name)));
+    }
+    return methods;
+  }
+
+  private static List<Method> parseMethods(DiscoveryNode methodsNode) {
+    List<Method> methods = new ArrayList<>(methodsNode.size());
+    for (String name : methodsNode.getFieldNames()) {
+      methods.add(Method.from(methodsNode.getObject(name), null));
     }
     return methods;
   }
@@ -177,6 +192,15 @@ public abstract class Document implements Node {
     this.parent = parent;
   }
 
+  // Index of methods() by method ID, built once the methods are parsed.
+  @JsonIgnore private Map<String, Method> methodsById;
+
+  /** @return the method with the given ID, or null if there is none. */
+  @Nullable
+  public Method methodById(String id) {
+    return methodsById.get(id);
+  }
+
   /** @return the auth instructions URL. */
   @JsonProperty("authInstructionsUrl")
   public abstract String authInstructionsUrl();
@@ -48,7 +48,7 @@ public abstract class Method implements Comparable<Method>, Node {
     Map<String, Schema> queryParams = new HashMap<>();
     Map<String, Schema> pathParams = new HashMap<>();
 
-    for (String name : root.getObject("parameters").getFieldNames()) {
+    for (String name : parametersNode.getFieldNames()) {
       Schema schema = Schema.from(parametersNode.getObject(name), name, null);
       // TODO: Remove these checks once we're sure that parameters can't be objects/arrays.
       // This is based on the assumption that these types can't be serialized as a query or path
@@ -108,6 +108,19 @@ public abstract class Method implements Comparable<Method>, Node {
     return thisMethod;
   }
 
+  /** Resolves the references of the request, response and parameter schemas of this method. */
+  void resolveReferences(Map<String, Schema> documentSchemas) {
+    if (request() != null) {
+      request().resolveReferences(documentSchemas);
+    }
+    if (response() != null) {
+      response().resolveReferences(documentSchemas);
+    }
+    for (Schema schema : parameters().values()) {
+      schema.resolveReferences(documentSchemas);
+    }
+  }
+
   @Override
   public int compareTo(Method other) {
     return id().compareTo(other.id());
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
 /**
@@ -47,6 +49,9 @@ public abstract class Schema implements Node {
    * @return the first non-reference schema, or this if this schema references no other.
    */
   public Schema dereference() {
+    if (dereferenced != null) {
+      return dereferenced;
+    }
     if (!Strings.isNullOrEmpty(reference())) {
       Node document = parent;
       while (document != null && !(document instanceof Document)) {
@@ -69,6 +74,13 @@ public abstract class Schema implements Node {
    * Returns an empty list if the target is not found.
    */
   public List<Schema> findChild(String childName) {
+    if (childPaths != null) {
+      return childPaths.computeIfAbsent(childName, this::searchChild);
+    }
+    return searchChild(childName);
+  }
+
+  private List<Schema> searchChild(String childName) {
     Set<Schema> visitedNodes = new HashSet<>();
     Map<Schema, Schema> nodeToPrevNode = new HashMap<>();
 
@@ -117,7 +129,27 @@ public abstract class Schema implements Node {
       pathToChild.add(0, currentNode);
     }
 
-    return pathToChild;
+    return ImmutableList.copyOf(pathToChild);
+  }
+
+  /**
+   * Resolves the references of this schema and of all its child schemas against the schemas of
+   * their document, and enables memoization of {@link #findChild}. Called once the document has
+   * been fully parsed, since the result of both only depends on the then immutable document.
+   */
+  void resolveReferences(Map<String, Schema> documentSchemas) {
+    // An unknown reference is left unresolved, so that dereference() still fails when it is used.
+    dereferenced = Strings.isNullOrEmpty(reference()) ? this : documentSchemas.get(reference());
+    childPaths = new ConcurrentHashMap<>();
+    if (items() != null) {
+      items().resolveReferences(documentSchemas);
+    }
+    for (Schema property : properties().values()) {
+      property.resolveReferences(documentSchemas);
+    }
+    if (additionalProperties() != null) {
+      additionalProperties().resolveReferences(documentSchemas);
+    }
   }
 
   /**
@@ -216,6 +248,15 @@ public abstract class Schema implements Node {
 
   @JsonIgnore @Nullable private Node parent;
 
+  // The schema this schema references, once resolved against its document.
+  @JsonIgnore @Nullable private Schema dereferenced;
+
+  // The cached hash code, or 0 if it has not been computed since the parent was last set.
+  @JsonIgnore private int cachedHashCode;
+
+  // Paths found by findChild, keyed by child name; only set once references are resolved.
+  @JsonIgnore @Nullable private Map<String, List<Schema>> childPaths;
+
   /** @return the {@link Node} that contains this Schema. */
   @Nullable
   public Node parent() {
@@ -224,6 +265,8 @@ public abstract class Schema implements Node {
 
   void setParent(Node parent) {
     this.parent = parent;
+    // The parent is part of the hash code.
+    cachedHashCode = 0;
   }
 
   /** @return the schema of the additionalProperties, or null if none. */
@@ -365,10 +408,20 @@ public abstract class Schema implements Node {
   /**
    * @return hashCode that should be unique for each underlying Node in the Document. This function
    *     includes the location of the node in its calculation, so two different nodes with the same
-   *     content but different parents will still have different hashCodes.
+   *     content but different parents will still have different hashCodes. It is computed once and
+   *     cached, as schemas are heavily used as map keys.
    */
   @Override
   public int hashCode() {
+    int result = cachedHashCode;
+    if (result == 0) {
+      result = computeHashCode();
+      cachedHashCode = result;
+    }
+    return result;
+  }
+
+  private int computeHashCode() {
     return Objects.hash(
         additionalProperties() == null ? null : additionalProperties().getIdentifier(),
         defaultValue(),
@@ -393,7 +446,14 @@ public abstract class Schema implements Node {
     if (!(other instanceof Schema)) {
       return false;
     }
+    if (this == other) {
+      return true;
+    }
     Schema schema2 = (Schema) other;
+    // Equal schemas have equal cached hash codes, which rules out most unequal schemas cheaply.
+    if (hashCode() != schema2.hashCode()) {
+      return false;
+    }
 
     return Objects.equals(
             additionalProperties() == null ? null : additionalProperties().getIdentifier(),
@@ -0,0 +1,109 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.ConfigProto;
+import com.google.api.codegen.ConfigSnapshotProto;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes an on-disk cache of the GAPIC config parsed from its YAML files.
+ *
+ * <p>When the same API is generated for several languages in separate runs, the first run writes
+ * the ConfigProto merged from the YAML files to the snapshot, and later runs read it back instead
+ * of parsing and merging the YAML again. A snapshot is only used if it was written from files with
+ * the same content, and with the same ConfigProto schema.
+ *
+ * <p>This is only a YAML parse cache. Every run still loads the descriptor set into a Model and
+ * resolves the product config from the ConfigProto and the Model, which remains the main cost of a
+ * run; those hold framework objects which cannot be serialized.
+ */
+class ConfigSnapshots {
+
+  private ConfigSnapshots() {}
+
+  /** Returns the fingerprint of the given config files and of the ConfigProto schema. */
+  static String fingerprint(List<File> configFiles) throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putBytes(ConfigProto.getDescriptor().getFile().toProto().toByteArray());
+    for (File configFile : configFiles) {
+      byte[] content = Files.readAllBytes(configFile.toPath());
+      hasher.putString(configFile.getName(), StandardCharsets.UTF_8);
+      hasher.putInt(content.length);
+      hasher.putBytes(content);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Returns the config stored in the snapshot, or null if there is no snapshot, or if it was
+   * resolved from different inputs or cannot be read.
+   */
+  @Nullable
+  static ConfigProto read(Path snapshotFile, String fingerprint) {
+    if (!Files.isRegularFile(snapshotFile)) {
+      return null;
+    }
+    try (InputStream input = Files.newInputStream(snapshotFile)) {
+      ConfigSnapshotProto snapshot = ConfigSnapshotProto.parseFrom(input);
+      if (!snapshot.getSourceFingerprint().equals(fingerprint)) {
+        return null;
+      }
+      return ConfigProto.parseFrom(snapshot.getConfig());
+    } catch (IOException e) {
+      // A damaged snapshot is treated like a missing one, and overwritten.
+      return null;
+    }
+  }
+
+  /**
+   * Writes the config to the snapshot. The snapshot is replaced atomically where the file system
+   * allows it, so concurrent runs never read a partially written snapshot.
+   */
+  static void write(Path snapshotFile, String fingerprint, ConfigProto config) throws IOException {
+    Path directory = snapshotFile.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    Path tempFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream output = Files.newOutputStream(tempFile)) {
+        ConfigSnapshotProto.newBuilder()
+            .setSourceFingerprint(fingerprint)
+            .setConfig(config.toByteString())
+            .build()
+            .writeTo(output);
+      }
+      Files.move(
+          tempFile,
+          snapshotFile,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+}
@@ -21,21 +21,47 @@ import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.api.tools.framework.tools.ToolUtil;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 
 /** A class that writes Gapic output to disk. */
-public class FileGapicWriter implements GapicWriter {
+public class FileGapicWriter implements StreamingGapicWriter {
 
   private final String outputPath;
+  private final boolean incremental;
+  private final ZipCompression zipCompression;
   private boolean isDone = false;
 
   public FileGapicWriter(String outputPath) {
+    this(outputPath, false);
+  }
+
+  public FileGapicWriter(String outputPath, boolean incremental) {
+    this(outputPath, incremental, ZipCompression.DEFAULT);
+  }
+
+  /**
+   * Creates a writer for the given output path.
+   *
+   * @param incremental if {@code true} and the output path is a directory, files whose content did
+   *     not change are not rewritten, and files which are no longer generated are deleted. See
+   *     {@link IncrementalOutputWriter}.
+   * @param zipCompression the compression used if the output path is a zip, jar or srcjar file
+   */
+  public FileGapicWriter(String outputPath, boolean incremental, ZipCompression zipCompression) {
     this.outputPath = outputPath;
+    this.incremental = incremental;
+    this.zipCompression = zipCompression;
   }
 
   @Override
@@ -49,7 +75,16 @@ public class FileGapicWriter implements GapicWriter {
       throws IOException {
     Map<String, Object> outputFiles = GeneratedResult.extractBodiesGeneric(generatedResults);
 
-    writeCodeGenOutput(outputFiles, outputPath);
+    if (incremental && !isArchive(outputPath)) {
+      IncrementalOutputWriter incrementalWriter = new IncrementalOutputWriter(outputPath);
+      for (Map.Entry<String, Object> entry : outputFiles.entrySet()) {
+        incrementalWriter.write(entry.getKey(), StreamingResultSink.toBytes(entry.getValue()));
+      }
+      incrementalWriter.finish();
+      System.err.println(incrementalWriter.getSummary());
+    } else {
+      writeCodeGenOutput(outputFiles, outputPath);
+    }
 
     Set<String> executables =
         generatedResults
@@ -63,11 +98,25 @@ public class FileGapicWriter implements GapicWriter {
     isDone = true;
   }
 
+  @Override
+  public StreamingResultSink openSink(DiagCollector diagCollector) throws IOException {
+    if (isArchive(outputPath)) {
+      return new ZipResultSink();
+    }
+    if (incremental) {
+      return new IncrementalResultSink(new IncrementalOutputWriter(outputPath), diagCollector);
+    }
+    return new FileResultSink(diagCollector);
+  }
+
   @VisibleForTesting
   void writeCodeGenOutput(Map<String, Object> outputFiles, String outputPath) throws IOException {
-    // TODO: Support zip output.
-    if (outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar")) {
-      ToolUtil.writeJar(outputFiles, outputPath);
+    if (isArchive(outputPath)) {
+      try (ZipResultWriter zipWriter = new ZipResultWriter(outputPath, zipCompression)) {
+        for (Map.Entry<String, Object> entry : outputFiles.entrySet()) {
+          zipWriter.write(entry.getKey(), entry.getValue());
+        }
+      }
     } else {
       ToolUtil.writeFiles(outputFiles, outputPath);
     }
@@ -76,7 +125,7 @@ public class FileGapicWriter implements GapicWriter {
   @VisibleForTesting
   void setOutputFilesPermissions(
       Set<String> executables, String outputPath, DiagCollector diagCollector) {
-    if (outputPath.endsWith(".jar")) {
+    if (isArchive(outputPath)) {
       return;
     }
 
@@ -96,4 +145,111 @@ public class FileGapicWriter implements GapicWriter {
   private void warning(DiagCollector diagCollector, String message, Object... args) {
     diagCollector.addDiag(Diag.warning(SimpleLocation.TOPLEVEL, message, args));
   }
+
+  private static boolean isArchive(String outputPath) {
+    return ZipResultWriter.isArchive(outputPath);
+  }
+
+  /** Writes each result to its own file under the output path as soon as it is accepted. */
+  private class FileResultSink extends StreamingResultSink {
+    private final DiagCollector diagCollector;
+
+    private FileResultSink(DiagCollector diagCollector) {
+      this.diagCollector = diagCollector;
+    }
+
+    @Override
+    protected void write(String path, Object body, boolean executable) throws IOException {
+      ToolUtil.writeFiles(ImmutableMap.of(path, body), outputPath);
+      if (executable) {
+        setOutputFilesPermissions(Collections.singleton(path), outputPath, diagCollector);
+      }
+    }
+
+    @Override
+    protected void finish() {
+      isDone = true;
+    }
+
+    @Override
+    protected void abort() {}
+  }
+
+  /** Writes each changed result to its own file as soon as it is accepted. */
+  private class IncrementalResultSink extends StreamingResultSink {
+    private final IncrementalOutputWriter incrementalWriter;
+    private final DiagCollector diagCollector;
+
+    private IncrementalResultSink(
+        IncrementalOutputWriter incrementalWriter, DiagCollector diagCollector) {
+      this.incrementalWriter = incrementalWriter;
+      this.diagCollector = diagCollector;
+    }
+
+    @Override
+    protected void write(String path, Object body, boolean executable) throws IOException {
+      incrementalWriter.write(path, toBytes(body));
+      if (executable) {
+        setOutputFilesPermissions(Collections.singleton(path), outputPath, diagCollector);
+      }
+    }
+
+    @Override
+    protected void finish() throws IOException {
+      incrementalWriter.finish();
+      System.err.println(incrementalWriter.getSummary());
+      isDone = true;
+    }
+
+    @Override
+    protected void abort() throws IOException {
+      // Files of the previous run which were not generated again are kept.
+      incrementalWriter.abort();
+    }
+  }
+
+  /**
+   * Adds each result to a temporary archive next to the output path as soon as it is accepted. The
+   * temporary archive replaces the output only when the sink is committed, so a failed run leaves
+   * the previous archive, if any, in place.
+   */
+  private class ZipResultSink extends StreamingResultSink {
+    private final Path tempFile;
+    private final ZipResultWriter zipWriter;
+
+    private ZipResultSink() throws IOException {
+      Path outputFile = Paths.get(outputPath).toAbsolutePath();
+      this.tempFile =
+          Files.createTempFile(outputFile.getParent(), outputFile.getFileName().toString(), ".tmp");
+      try {
+        this.zipWriter =
+            new ZipResultWriter(
+                tempFile.toString(), ZipResultWriter.isJar(outputPath), zipCompression);
+      } catch (IOException e) {
+        Files.deleteIfExists(tempFile);
+        throw e;
+      }
+    }
+
+    @Override
+    protected void write(String path, Object body, boolean executable) throws IOException {
+      zipWriter.write(path, body);
+    }
+
+    @Override
+    protected void finish() throws IOException {
+      zipWriter.close();
+      Files.move(tempFile, Paths.get(outputPath), StandardCopyOption.REPLACE_EXISTING);
+      isDone = true;
+    }
+
+    @Override
+    protected void abort() throws IOException {
+      try {
+        zipWriter.close();
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    }
+  }
 }
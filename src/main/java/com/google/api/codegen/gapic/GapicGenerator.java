@@ -16,6 +16,7 @@ package com.google.api.codegen.gapic;
 
 import com.google.api.codegen.common.CodeGenerator;
 import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.GeneratedResultSink;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.ProtoApiModel;
 import com.google.api.codegen.rendering.CommonSnippetSetRunner;
@@ -24,10 +25,14 @@ import com.google.api.codegen.viewmodel.ViewModel;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.stages.Merged;
 import com.google.api.tools.framework.snippet.Doc;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import javax.annotation.Nullable;
 
 /* CodeGenerator for proto-based GAPIC libraries that uses ViewModels to render the templates. */
 public class GapicGenerator implements CodeGenerator<Doc> {
@@ -54,6 +59,42 @@ public class GapicGenerator implements CodeGenerator<Doc> {
 
   @Override
   public Map<String, GeneratedResult<Doc>> generate() {
+    List<ViewModel> surfaceDocs = transform();
+    if (surfaceDocs == null) {
+      return null;
+    }
+
+    Map<String, GeneratedResult<Doc>> results = new TreeMap<>();
+    for (ViewModel surfaceDoc : surfaceDocs) {
+      results.putAll(snippetSetRunner.generate(surfaceDoc));
+    }
+
+    return results;
+  }
+
+  @Override
+  public void generate(GeneratedResultSink sink) throws IOException {
+    List<ViewModel> surfaceDocs = transform();
+    if (surfaceDocs == null) {
+      return;
+    }
+
+    // Render one view at a time so that each Doc can be released as soon as it is written.
+    for (ViewModel surfaceDoc : surfaceDocs) {
+      for (Map.Entry<String, GeneratedResult<Doc>> entry :
+          snippetSetRunner.generate(surfaceDoc).entrySet()) {
+        sink.accept(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Returns the views to render, ordered by output path, or null if there were errors. Every view
+   * is rendered into at most one file at its output path, so rendering the views in this order
+   * yields the files in the same order as the sorted map returned by {@link #generate()}.
+   */
+  @Nullable
+  private List<ViewModel> transform() {
     // Establish required stage for generation.
     model.establishStage(Merged.KEY);
     if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
@@ -61,17 +102,26 @@ public class GapicGenerator implements CodeGenerator<Doc> {
     }
 
     List<ViewModel> surfaceDocs =
-        modelToViewTransformer.transform(new ProtoApiModel(model), productConfig);
+        new ArrayList<>(modelToViewTransformer.transform(new ProtoApiModel(model), productConfig));
     if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
       return null;
     }
 
-    Map<String, GeneratedResult<Doc>> results = new TreeMap<>();
-    for (ViewModel surfaceDoc : surfaceDocs) {
-      results.putAll(snippetSetRunner.generate(surfaceDoc));
-    }
+    // The sort is stable, so views with the same path keep their order.
+    surfaceDocs.sort(
+        Comparator.comparing(
+            ViewModel::outputPath, Comparator.nullsFirst(Comparator.naturalOrder())));
+    return surfaceDocs;
+  }
 
-    return results;
+  /** Returns the transformer which turns the model into the views to render. */
+  public ModelToViewTransformer<ProtoApiModel> getModelToViewTransformer() {
+    return modelToViewTransformer;
+  }
+
+  /** Returns the runner which renders each view into generated files. */
+  public CommonSnippetSetRunner getSnippetSetRunner() {
+    return snippetSetRunner;
   }
 
   public static Builder newBuilder() {
@@ -24,15 +24,21 @@ import com.google.api.codegen.config.DependenciesConfig;
 import com.google.api.codegen.config.GapicProductConfig;
 import com.google.api.codegen.config.PackageMetadataConfig;
 import com.google.api.codegen.config.PackagingConfig;
+import com.google.api.codegen.rendering.SnippetSetCache;
+import com.google.api.codegen.transformer.ParallelTransformation;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.MultiYamlReader;
 import com.google.api.codegen.util.ProtoParser;
 import com.google.api.tools.framework.model.ConfigSource;
 import com.google.api.tools.framework.model.Diag;
+import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.api.tools.framework.model.stages.Merged;
 import com.google.api.tools.framework.tools.ToolDriverBase;
 import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.api.tools.framework.tools.ToolOptions.Option;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -40,14 +46,28 @@ import com.google.inject.TypeLiteral;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.Message;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /** Main class for the code generator. */
 public class GapicGeneratorApp extends ToolDriverBase {
   public static final Option<String> LANGUAGE =
-      ToolOptions.createOption(String.class, "language", "The target language.", "");
+      ToolOptions.createOption(
+          String.class,
+          "language",
+          "The target language, or a comma-separated list of target languages. When several "
+              + "languages are given, the output of each is placed under a directory named after "
+              + "the language.",
+          "");
   public static final Option<String> OUTPUT_FILE =
       ToolOptions.createOption(
           String.class,
@@ -59,7 +79,9 @@ public class GapicGeneratorApp extends ToolDriverBase {
           String.class,
           "proto_package",
           "The proto package designating the files actually intended for output.\n"
-              + "This option is required if the GAPIC generator config files are not given.",
+              + "This option is required if the GAPIC generator config files are not given.\n"
+              + "Several packages can be given as a comma-separated list, in which case the "
+              + "output of each is placed under a directory named after the package.",
           "");
   public static final Option<String> CLIENT_PACKAGE =
       ToolOptions.createOption(
@@ -92,6 +114,34 @@ public class GapicGeneratorApp extends ToolDriverBase {
           "Whether to generate samples in non-production-ready languages.",
           false);
 
+  public static final Option<Integer> PARALLELISM =
+      ToolOptions.createOption(
+          Integer.class,
+          "parallelism",
+          "The maximum number of interfaces within a code generator to transform concurrently. "
+              + "Code generators themselves always run one after another. A value of 1 runs "
+              + "everything sequentially.",
+          1);
+
+  public static final Option<Boolean> STREAMING_OUTPUT =
+      ToolOptions.createOption(
+          Boolean.class,
+          "streaming_output",
+          "Whether to write each generated file as soon as it is rendered, instead of holding "
+              + "all generated files in memory until generation has finished.",
+          false);
+
+  public static final Option<String> CONFIG_SNAPSHOT =
+      ToolOptions.createOption(
+          String.class,
+          "config_snapshot",
+          "A file to cache the GAPIC config parsed from the YAML config files in. Later runs with "
+              + "the same config files read the config from it instead of parsing the YAML again. "
+              + "The product config is still resolved from the model on every run.",
+          "");
+
+  private static final Logger LOGGER = Logger.getLogger(GapicGeneratorApp.class.getName());
+
   private ArtifactType artifactType;
 
   private final GapicWriter gapicWriter;
@@ -118,19 +168,12 @@ public class GapicGeneratorApp extends ToolDriverBase {
   @Override
   protected void process() throws Exception {
 
-    String protoPackage = Strings.emptyToNull(options.get(PROTO_PACKAGE));
-
     // Read the YAML config, it it was given, and convert it to proto.
     List<String> configFileNames = options.get(GENERATOR_CONFIG_FILES);
     ConfigProto configProto = null;
     if (configFileNames.size() > 0) {
       // Read the YAML config and convert it to proto.
-      ConfigSource configSource = loadConfigFromFiles(configFileNames);
-      if (configSource == null) {
-        return;
-      }
-
-      configProto = (ConfigProto) configSource.getConfig();
+      configProto = loadConfigFromFiles(configFileNames);
       if (configProto == null) {
         return;
       }
@@ -155,51 +198,240 @@ public class GapicGeneratorApp extends ToolDriverBase {
               apiDefaultsConfig, dependenciesConfig, packagingConfig);
     }
 
-    TargetLanguage language;
-    if (!Strings.isNullOrEmpty(options.get(LANGUAGE))) {
-      language = TargetLanguage.fromString(options.get(LANGUAGE).toUpperCase());
-    } else {
+    List<TargetLanguage> languages = new ArrayList<>();
+    for (String language : splitList(options.get(LANGUAGE))) {
+      languages.add(TargetLanguage.fromString(language.toUpperCase()));
+    }
+    if (languages.isEmpty()) {
       if (configProto == null || Strings.isNullOrEmpty(configProto.getLanguage())) {
         throw new IllegalArgumentException(
             "Language not set by --language option or by gapic config.");
       }
-      language = TargetLanguage.fromString(configProto.getLanguage().toUpperCase());
+      languages.add(TargetLanguage.fromString(configProto.getLanguage().toUpperCase()));
+    }
+
+    List<String> protoPackages = splitList(options.get(PROTO_PACKAGE));
+    if (protoPackages.isEmpty()) {
+      // The proto package is optional when a gapic config is given.
+      protoPackages = Collections.singletonList(null);
+    } else if (protoPackages.size() > 1 && configProto != null) {
+      throw new IllegalArgumentException(
+          "Only one proto package can be generated when a gapic config is given.");
     }
 
     String clientPackage = Strings.emptyToNull(options.get(CLIENT_PACKAGE));
 
-    GapicProductConfig productConfig =
-        GapicProductConfig.create(model, configProto, protoPackage, clientPackage, language);
-    if (productConfig == null) {
-      return;
+    int parallelism = options.get(PARALLELISM);
+    if (parallelism <= 1) {
+      generate(
+          configProto,
+          packageConfig,
+          languages,
+          protoPackages,
+          clientPackage,
+          ParallelTransformation.sequential());
+    } else {
+      // The pool bounds the per-interface fan-out inside the transformers. It only lives for this
+      // run, so that runs in one process, such as the requests of a persistent worker, share
+      // nothing.
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        generate(
+            configProto,
+            packageConfig,
+            languages,
+            protoPackages,
+            clientPackage,
+            ParallelTransformation.withPool(pool));
+      } finally {
+        pool.shutdown();
+      }
+    }
+    logCacheStats();
+  }
+
+  /**
+   * Logs the use of the template and doc comment caches at FINE level. The caches are shared by all
+   * runs of a process, so the numbers add up over the runs.
+   */
+  private static void logCacheStats() {
+    if (LOGGER.isLoggable(Level.FINE)) {
+      LOGGER.fine(SnippetSetCache.getInstance().describeStats());
+      LOGGER.fine(DocCommentCache.describeStats());
     }
+  }
 
+  private void generate(
+      @Nullable ConfigProto configProto,
+      @Nullable PackageMetadataConfig packageConfig,
+      List<TargetLanguage> languages,
+      List<String> protoPackages,
+      @Nullable String clientPackage,
+      ParallelTransformation parallelTransformation)
+      throws Exception {
+    // All packages are generated from the one merged model. Preparing a product config adds the
+    // source protos of its package as roots of the model, but reachability is computed from the
+    // roots once, when the model is merged, so the roots of one package do not make elements of
+    // another reachable; each product config only selects the interfaces of its own package.
     ArtifactFlags artifactFlags = new ArtifactFlags(options.get(ENABLED_ARTIFACTS), artifactType);
-    List<CodeGenerator<?>> generators =
-        GapicGeneratorFactory.create(
-            language, model, productConfig, packageConfig, artifactFlags, options.get(DEV_SAMPLES));
+    DiagCollector diagCollector = model.getDiagReporter().getDiagCollector();
+    List<CodeGenerator<?>> generators = new ArrayList<>();
+    for (String targetPackage : protoPackages) {
+      // The language-independent parts of the product config are resolved once per package.
+      GapicProductConfig.LanguageIndependentConfig sharedConfig =
+          GapicProductConfig.prepare(model, configProto, targetPackage);
+      for (TargetLanguage language : languages) {
+        GapicProductConfig productConfig =
+            GapicProductConfig.create(sharedConfig, clientPackage, language);
+        if (productConfig == null) {
+          return;
+        }
+        String directory =
+            getTargetDirectory(
+                languages.size() > 1 ? language : null,
+                protoPackages.size() > 1 ? targetPackage : null);
+        for (CodeGenerator<?> generator :
+            GapicGeneratorFactory.create(
+                language,
+                model,
+                productConfig,
+                packageConfig,
+                artifactFlags,
+                options.get(DEV_SAMPLES),
+                parallelTransformation)) {
+          generators.add(NamespacedCodeGenerator.create(generator, directory));
+        }
+      }
+    }
+
+    if (options.get(STREAMING_OUTPUT) && gapicWriter instanceof StreamingGapicWriter) {
+      streamGenerators(generators, (StreamingGapicWriter) gapicWriter, diagCollector);
+      return;
+    }
+
+    Map<String, GeneratedResult<?>> generatedResults = runGenerators(generators);
+    if (diagCollector.getErrorCount() > 0) {
+      return;
+    }
+
+    gapicWriter.writeCodeGenOutput(generatedResults, diagCollector);
+  }
+
+  /**
+   * Returns the directory which the output of one target is placed under when several targets are
+   * generated in a single run. The language and the proto package are only part of the directory if
+   * more than one of them is generated.
+   */
+  @VisibleForTesting
+  static String getTargetDirectory(
+      @Nullable TargetLanguage language, @Nullable String protoPackage) {
+    StringBuilder directory = new StringBuilder();
+    if (language != null) {
+      directory.append(language.toString().toLowerCase()).append('/');
+    }
+    if (protoPackage != null) {
+      directory.append(protoPackage).append('/');
+    }
+    return directory.toString();
+  }
+
+  private static List<String> splitList(String value) {
+    return Splitter.on(',')
+        .trimResults()
+        .omitEmptyStrings()
+        .splitToList(Strings.nullToEmpty(value));
+  }
+
+  /**
+   * Runs the given generators in order and writes each generated file through the writer as soon as
+   * it is produced. Generators are run sequentially so that the order of the output stays
+   * deterministic; the per-interface parallelism of the transformers still applies.
+   *
+   * <p>The output is only completed if every generator finished without reporting errors to the
+   * collector; otherwise, or if a generator throws, it is aborted, as the map-based path never
+   * writes it.
+   */
+  @VisibleForTesting
+  static void streamGenerators(
+      List<CodeGenerator<?>> generators,
+      StreamingGapicWriter gapicWriter,
+      DiagCollector diagCollector)
+      throws IOException {
+    try (StreamingResultSink sink = gapicWriter.openSink(diagCollector)) {
+      for (CodeGenerator<?> generator : generators) {
+        generator.generate(sink);
+      }
+      if (diagCollector.getErrorCount() == 0) {
+        sink.commit();
+      }
+    }
+  }
+
+  /**
+   * Runs the given generators one after another and merges their results in generator order.
+   *
+   * <p>Generators are never run concurrently: all generators share one Model and its DiagCollector,
+   * and the generators of a package share their product configs, none of which are thread-safe.
+   *
+   * @throws IllegalArgumentException if two generators produce the same output path
+   */
+  @VisibleForTesting
+  static Map<String, GeneratedResult<?>> runGenerators(List<CodeGenerator<?>> generators)
+      throws Exception {
+    // ImmutableMap.Builder rejects duplicate output paths when the map is built.
     ImmutableMap.Builder<String, GeneratedResult<?>> generatedResults = ImmutableMap.builder();
     for (CodeGenerator<?> generator : generators) {
       Map<String, ? extends GeneratedResult<?>> generatorResult = generator.generate();
+      // Generators return null when they reported errors; the caller checks the diag collector.
+      if (generatorResult == null) {
+        continue;
+      }
       for (Map.Entry<String, ? extends GeneratedResult<?>> entry : generatorResult.entrySet()) {
         generatedResults.put(entry.getKey(), entry.getValue());
       }
     }
-
-    gapicWriter.writeCodeGenOutput(
-        generatedResults.build(), model.getDiagReporter().getDiagCollector());
+    return generatedResults.build();
   }
 
-  private ConfigSource loadConfigFromFiles(List<String> configFileNames) {
+  /**
+   * Reads the config files and merges them into a ConfigProto. If a config snapshot is given, the
+   * config is read from the snapshot instead when it was parsed from the same files, and the
+   * snapshot is written otherwise.
+   */
+  @Nullable
+  private ConfigProto loadConfigFromFiles(List<String> configFileNames) throws IOException {
     List<File> configFiles = pathsToFiles(configFileNames);
     if (model.getDiagReporter().getDiagCollector().getErrorCount() > 0) {
       return null;
     }
+
+    Path snapshotFile = null;
+    String fingerprint = null;
+    if (!Strings.isNullOrEmpty(options.get(CONFIG_SNAPSHOT))) {
+      snapshotFile = Paths.get(options.get(CONFIG_SNAPSHOT));
+      fingerprint = ConfigSnapshots.fingerprint(configFiles);
+      ConfigProto snapshotConfig = ConfigSnapshots.read(snapshotFile, fingerprint);
+      if (snapshotConfig != null) {
+        return snapshotConfig;
+      }
+    }
+
     ImmutableMap<String, Message> supportedConfigTypes =
         ImmutableMap.of(
             ConfigProto.getDescriptor().getFullName(), ConfigProto.getDefaultInstance());
-    return MultiYamlReader.read(
-        model.getDiagReporter().getDiagCollector(), configFiles, supportedConfigTypes);
+    ConfigSource configSource =
+        MultiYamlReader.read(
+            model.getDiagReporter().getDiagCollector(), configFiles, supportedConfigTypes);
+    if (configSource == null) {
+      return null;
+    }
+    ConfigProto configProto = (ConfigProto) configSource.getConfig();
+    if (configProto != null
+        && snapshotFile != null
+        && model.getDiagReporter().getDiagCollector().getErrorCount() == 0) {
+      ConfigSnapshots.write(snapshotFile, fingerprint, configProto);
+    }
+    return configProto;
   }
 
   private List<File> pathsToFiles(List<String> configFileNames) {
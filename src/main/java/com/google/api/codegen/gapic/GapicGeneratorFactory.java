@@ -36,6 +36,7 @@ import com.google.api.codegen.nodejs.NodeJSCodePathMapper;
 import com.google.api.codegen.php.PhpGapicCodePathMapper;
 import com.google.api.codegen.rendering.CommonSnippetSetRunner;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.csharp.CSharpBasicPackageTransformer;
 import com.google.api.codegen.transformer.csharp.CSharpGapicClientPackageTransformer;
 import com.google.api.codegen.transformer.csharp.CSharpGapicClientTransformer;
@@ -114,6 +115,28 @@ public class GapicGeneratorFactory {
       PackageMetadataConfig packageConfig,
       ArtifactFlags artifactFlags,
       boolean devSamples) {
+    return create(
+        language,
+        model,
+        productConfig,
+        packageConfig,
+        artifactFlags,
+        devSamples,
+        ParallelTransformation.sequential());
+  }
+
+  /**
+   * Create the GapicGenerators based on the given id, transforming the interfaces of an API with
+   * the given {@code parallelTransformation} where the transformers support it.
+   */
+  public static List<CodeGenerator<?>> create(
+      TargetLanguage language,
+      Model model,
+      GapicProductConfig productConfig,
+      PackageMetadataConfig packageConfig,
+      ArtifactFlags artifactFlags,
+      boolean devSamples,
+      ParallelTransformation parallelTransformation) {
 
     ArrayList<CodeGenerator<?>> generators = new ArrayList<>();
     // Please keep the following IDs in alphabetical order
@@ -198,7 +221,8 @@ public class GapicGeneratorFactory {
                 .setProductConfig(productConfig)
                 .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                 .setModelToViewTransformer(
-                    new GoGapicSurfaceTransformer(new PackageNameCodePathMapper()))
+                    new GoGapicSurfaceTransformer(
+                        new PackageNameCodePathMapper(), parallelTransformation))
                 .build();
         generators.add(generator);
       }
@@ -228,9 +252,13 @@ public class GapicGeneratorFactory {
             JavaGapicCodePathMapper.newBuilder().prefix("src/main/java").build();
 
         if (artifactFlags.codeFilesEnabled()) {
-          generators.add(newJavaGenerator.apply(new JavaGapicSurfaceTransformer(javaPathMapper)));
+          generators.add(
+              newJavaGenerator.apply(
+                  new JavaGapicSurfaceTransformer(javaPathMapper, parallelTransformation)));
           if (devSamples) {
-            generators.add(newJavaGenerator.apply(new JavaGapicSamplesTransformer(javaPathMapper)));
+            generators.add(
+                newJavaGenerator.apply(
+                    new JavaGapicSamplesTransformer(javaPathMapper, parallelTransformation)));
             generators.add(
                 newJavaGenerator.apply(new JavaGapicSamplesPackageTransformer(packageConfig)));
           }
@@ -312,7 +340,8 @@ public class GapicGeneratorFactory {
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                   .setModelToViewTransformer(
-                      new NodeJSGapicSamplesTransformer(nodeJSPathMapper, packageConfig))
+                      new NodeJSGapicSamplesTransformer(
+                          nodeJSPathMapper, packageConfig, parallelTransformation))
                   .build();
           generators.add(sampleGenerator);
         }
@@ -378,7 +407,8 @@ public class GapicGeneratorFactory {
                   .setProductConfig(productConfig)
                   .setSnippetSetRunner(new CommonSnippetSetRunner(new CommonRenderingUtil()))
                   .setModelToViewTransformer(
-                      new PhpGapicSamplesTransformer(phpPathMapper, packageConfig))
+                      new PhpGapicSamplesTransformer(
+                          phpPathMapper, packageConfig, parallelTransformation))
                   .build();
           generators.add(sampleGenerator);
         }
@@ -23,9 +23,16 @@ import com.google.api.tools.framework.model.ProtoFile;
  */
 public class GapicParser {
 
-  /** Provides the doc lines for the given proto element in the current language. */
+  /**
+   * Provides the doc lines for the given proto element in the current language.
+   *
+   * <p>Resolving the description fills the location map of the proto file lazily and may report
+   * diags to the model, neither of which is thread-safe, so lookups are serialized on the model.
+   */
   public static String getDocString(ProtoElement element) {
-    return DocumentationUtil.getScopedDescription(element);
+    synchronized (element.getModel()) {
+      return DocumentationUtil.getScopedDescription(element);
+    }
   }
 
   /** Get the url to the protobuf file located in github. */
@@ -0,0 +1,159 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Writes generated files into an output directory, leaving files whose content did not change
+ * untouched so that their modification times are preserved.
+ *
+ * <p>A file is unchanged only if its bytes on disk equal the new content; a matching size is not
+ * enough to skip it. A manifest of the content hash of every generated file is kept in the output
+ * directory. It is used to delete files which were generated by a previous run but are no longer
+ * generated. Files that are not listed in the manifest, or whose listed path does not resolve to a
+ * location inside the output directory, are never deleted.
+ */
+class IncrementalOutputWriter {
+
+  static final String MANIFEST_FILE_NAME = ".gapic_manifest";
+
+  private final Path outputRoot;
+  private final Map<String, String> previousHashes;
+  private final SortedMap<String, String> currentHashes = new TreeMap<>();
+
+  private int writtenCount = 0;
+  private int unchangedCount = 0;
+  private int removedCount = 0;
+
+  IncrementalOutputWriter(String outputPath) throws IOException {
+    this.outputRoot = Paths.get(outputPath).toAbsolutePath().normalize();
+    this.previousHashes = readManifest(outputRoot.resolve(MANIFEST_FILE_NAME));
+  }
+
+  /** Writes the file at the relative path, unless it already has the given content. */
+  void write(String path, byte[] content) throws IOException {
+    String hash = Hashing.sha256().hashBytes(content).toString();
+    currentHashes.put(path, hash);
+
+    Path file = outputRoot.resolve(path);
+    if (isUnchanged(file, content)) {
+      unchangedCount++;
+      return;
+    }
+
+    Path parent = file.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Files.write(file, content);
+    writtenCount++;
+  }
+
+  /**
+   * Deletes the files which were generated previously but not in this run, and writes the new
+   * manifest. Must only be called once every file of a successful run has been written.
+   */
+  void finish() throws IOException {
+    for (String path : previousHashes.keySet()) {
+      if (currentHashes.containsKey(path)) {
+        continue;
+      }
+      // The manifest is read from disk and may have been edited; never delete outside the root.
+      Path file = outputRoot.resolve(path).normalize();
+      if (file.startsWith(outputRoot) && !file.equals(outputRoot) && Files.deleteIfExists(file)) {
+        removedCount++;
+      }
+    }
+    writeManifest(currentHashes);
+  }
+
+  /**
+   * Ends a failed run without deleting anything. The manifest keeps every previously generated
+   * file, with the hashes of the files which were rewritten in this run, so that it still matches
+   * the files on disk.
+   */
+  void abort() throws IOException {
+    SortedMap<String, String> hashes = new TreeMap<>(previousHashes);
+    hashes.putAll(currentHashes);
+    writeManifest(hashes);
+  }
+
+  private void writeManifest(SortedMap<String, String> hashes) throws IOException {
+    StringBuilder manifest = new StringBuilder();
+    for (Map.Entry<String, String> entry : hashes.entrySet()) {
+      manifest.append(entry.getValue()).append("  ").append(entry.getKey()).append('\n');
+    }
+    Path manifestFile = outputRoot.resolve(MANIFEST_FILE_NAME);
+    Path parent = manifestFile.getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Files.write(manifestFile, manifest.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  int getWrittenCount() {
+    return writtenCount;
+  }
+
+  int getUnchangedCount() {
+    return unchangedCount;
+  }
+
+  int getRemovedCount() {
+    return removedCount;
+  }
+
+  String getSummary() {
+    return String.format(
+        "Incremental output: %d files written, %d unchanged, %d removed.",
+        writtenCount, unchangedCount, removedCount);
+  }
+
+  private static boolean isUnchanged(Path file, byte[] content) throws IOException {
+    if (!Files.isRegularFile(file) || Files.size(file) != content.length) {
+      return false;
+    }
+    // The file may have been edited since the manifest was written, so its hash there proves
+    // nothing; compare with what is on disk.
+    return Arrays.equals(Files.readAllBytes(file), content);
+  }
+
+  private static Map<String, String> readManifest(Path manifestFile) throws IOException {
+    Map<String, String> hashes = new HashMap<>();
+    if (!Files.isRegularFile(manifestFile)) {
+      return hashes;
+    }
+    List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+    for (String line : lines) {
+      int separator = line.indexOf("  ");
+      if (separator > 0) {
+        hashes.put(line.substring(separator + 2), line.substring(0, separator));
+      }
+    }
+    return hashes;
+  }
+}
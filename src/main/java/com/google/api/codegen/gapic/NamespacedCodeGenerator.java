@@ -0,0 +1,74 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.GeneratedResultSink;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A CodeGenerator which places all files of another generator under a directory prefix. Used to
+ * keep the outputs of several (proto package, language) targets apart when they are generated in a
+ * single run.
+ */
+class NamespacedCodeGenerator<T> implements CodeGenerator<T> {
+
+  private final CodeGenerator<T> generator;
+  private final String prefix;
+
+  private NamespacedCodeGenerator(CodeGenerator<T> generator, String prefix) {
+    this.generator = generator;
+    this.prefix = prefix;
+  }
+
+  /**
+   * Returns a generator which writes the files of {@code generator} under {@code directory}, or
+   * {@code generator} itself if the directory is empty.
+   */
+  static <T> CodeGenerator<T> create(CodeGenerator<T> generator, String directory) {
+    if (directory.isEmpty()) {
+      return generator;
+    }
+    return new NamespacedCodeGenerator<>(
+        generator, directory.endsWith("/") ? directory : directory + "/");
+  }
+
+  @Override
+  public Collection<String> getInputFileNames() {
+    return generator.getInputFileNames();
+  }
+
+  @Override
+  public Map<String, GeneratedResult<T>> generate() throws IOException {
+    Map<String, GeneratedResult<T>> results = generator.generate();
+    if (results == null) {
+      return null;
+    }
+    Map<String, GeneratedResult<T>> namespacedResults = new LinkedHashMap<>();
+    for (Map.Entry<String, GeneratedResult<T>> entry : results.entrySet()) {
+      namespacedResults.put(prefix + entry.getKey(), entry.getValue());
+    }
+    return namespacedResults;
+  }
+
+  @Override
+  public void generate(GeneratedResultSink sink) throws IOException {
+    generator.generate((path, result) -> sink.accept(prefix + path, result));
+  }
+}
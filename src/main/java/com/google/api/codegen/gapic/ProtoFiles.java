@@ -21,10 +21,18 @@ import com.google.api.codegen.config.MethodModel;
 import com.google.api.codegen.config.ProtoTypeRef;
 import com.google.api.tools.framework.model.Field;
 import com.google.api.tools.framework.model.MessageType;
+import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.ProtoFile;
 import com.google.api.tools.framework.model.TypeRef;
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Key;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A file-based view of model, consisting of a strategy for getting the protocol buffer files from
@@ -32,6 +40,10 @@ import java.util.TreeSet;
  */
 public class ProtoFiles {
 
+  // The file index of a model is kept as an attribute of the model, so it lives exactly as long as
+  // the model; its entries reference elements of the model.
+  private static final Key<FileIndex> FILE_INDEX_KEY = Key.get(FileIndex.class);
+
   private ProtoFiles() {}
 
   /**
@@ -45,29 +57,34 @@ public class ProtoFiles {
         MethodModel method = methodConfig.getMethodModel();
         files.addAll(
             getFilesForMessage(
-                ((ProtoTypeRef) method.getInputType()).getProtoType().getMessageType(), false));
+                ((ProtoTypeRef) method.getInputType()).getProtoType().getMessageType()));
         files.addAll(
             getFilesForMessage(
-                ((ProtoTypeRef) method.getOutputType()).getProtoType().getMessageType(), false));
+                ((ProtoTypeRef) method.getOutputType()).getProtoType().getMessageType()));
       }
     }
     return files;
   }
 
-  private static Set<ProtoFile> getFilesForMessage(MessageType messageType, boolean messageOnly) {
-    Set<ProtoFile> files = newFileSet();
-    files.add(messageType.getFile());
-    if (messageOnly) {
-      return files;
-    }
+  /**
+   * Returns the files of the given message and of the messages reachable through its fields. The
+   * fields of cyclic messages are not followed.
+   */
+  private static Set<ProtoFile> getFilesForMessage(MessageType messageType) {
+    return getFileIndex(messageType.getModel()).getFiles(messageType);
+  }
 
-    for (Field field : messageType.getFields()) {
-      TypeRef type = field.getType();
-      if (type.isMessage()) {
-        files.addAll(getFilesForMessage(type.getMessageType(), type.isCyclic()));
+  private static FileIndex getFileIndex(Model model) {
+    // Model attributes are not thread-safe, and interfaces of one model may be transformed
+    // concurrently.
+    synchronized (model) {
+      FileIndex fileIndex = model.getAttribute(FILE_INDEX_KEY);
+      if (fileIndex == null) {
+        fileIndex = new FileIndex();
+        model.putAttribute(FILE_INDEX_KEY, fileIndex);
       }
+      return fileIndex;
     }
-    return files;
   }
 
   private static Set<ProtoFile> newFileSet() {
@@ -77,4 +94,46 @@ public class ProtoFiles {
   private static String getPath(ProtoFile file) {
     return file.getFullName() + "." + file.getSimpleName();
   }
+
+  /** The files reachable from the messages of a model, computed once per message. */
+  private static class FileIndex {
+    private final Map<MessageType, ImmutableSet<ProtoFile>> filesByMessage =
+        new ConcurrentHashMap<>();
+
+    ImmutableSet<ProtoFile> getFiles(MessageType messageType) {
+      ImmutableSet<ProtoFile> files = filesByMessage.get(messageType);
+      if (files == null) {
+        files = computeFiles(messageType);
+        filesByMessage.put(messageType, files);
+      }
+      return files;
+    }
+
+    /**
+     * Walks the messages reachable from the given message once each, instead of once per path to
+     * them, so shared message types are not walked again for every message that uses them.
+     */
+    private static ImmutableSet<ProtoFile> computeFiles(MessageType root) {
+      Set<ProtoFile> files = new HashSet<>();
+      Set<MessageType> visited = new HashSet<>();
+      Deque<MessageType> unvisited = new ArrayDeque<>();
+      files.add(root.getFile());
+      visited.add(root);
+      unvisited.push(root);
+      while (!unvisited.isEmpty()) {
+        for (Field field : unvisited.pop().getFields()) {
+          TypeRef type = field.getType();
+          if (!type.isMessage()) {
+            continue;
+          }
+          MessageType fieldMessageType = type.getMessageType();
+          files.add(fieldMessageType.getFile());
+          if (!type.isCyclic() && visited.add(fieldMessageType)) {
+            unvisited.push(fieldMessageType);
+          }
+        }
+      }
+      return ImmutableSet.copyOf(files);
+    }
+  }
 }
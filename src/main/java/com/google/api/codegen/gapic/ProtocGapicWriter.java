@@ -17,11 +17,12 @@ package com.google.api.codegen.gapic;
 import com.google.api.codegen.common.GeneratedResult;
 import com.google.api.tools.framework.model.DiagCollector;
 import com.google.api.tools.framework.snippet.Doc;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
 import java.util.Map;
 import javax.annotation.Nonnull;
 
-public class ProtocGapicWriter implements GapicWriter {
+public class ProtocGapicWriter implements StreamingGapicWriter {
 
   private boolean isDone = false;
   private CodeGeneratorResponse response;
@@ -47,31 +48,59 @@ public class ProtocGapicWriter implements GapicWriter {
     this.isDone = true;
   }
 
-  private CodeGeneratorResponse writeCodeGenOutputToProtoc(Map<String, ?> outputFiles) {
+  @Override
+  public StreamingResultSink openSink(DiagCollector diagCollector) {
     CodeGeneratorResponse.Builder protocResponse = CodeGeneratorResponse.newBuilder();
+    return new StreamingResultSink() {
+      @Override
+      protected void write(String path, Object body, boolean executable) {
+        protocResponse.addFile(
+            CodeGeneratorResponse.File.newBuilder()
+                .setName(path)
+                .setContentBytes(toByteString(body))
+                .build());
+      }
 
-    for (Map.Entry<String, ?> entry : outputFiles.entrySet()) {
-      com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File.Builder protoOutFile =
-          com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse.File.newBuilder();
-
-      StringBuilder outputStream = new StringBuilder();
+      @Override
+      protected void finish() {
+        response = protocResponse.build();
+        isDone = true;
+      }
 
-      Object value = entry.getValue();
-      if (value instanceof Doc) {
-        outputStream.append(((Doc) value).prettyPrint());
-      } else if (value instanceof String) {
-        outputStream.append((String) value);
-      } else if (value instanceof byte[]) {
-        outputStream.append((byte[]) value);
-      } else {
-        throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+      @Override
+      protected void abort() {
+        // Nothing was sent to protoc yet; getCodegenResponse() keeps reporting the failure.
       }
+    };
+  }
 
-      protoOutFile.setContent(outputStream.toString());
-      protoOutFile.setName(entry.getKey());
-      protocResponse.addFile(protoOutFile.build());
+  private CodeGeneratorResponse writeCodeGenOutputToProtoc(Map<String, ?> outputFiles) {
+    CodeGeneratorResponse.Builder protocResponse = CodeGeneratorResponse.newBuilder();
+
+    for (Map.Entry<String, ?> entry : outputFiles.entrySet()) {
+      protocResponse.addFile(
+          CodeGeneratorResponse.File.newBuilder()
+              .setName(entry.getKey())
+              .setContentBytes(toByteString(entry.getValue()))
+              .build());
     }
 
     return protocResponse.build();
   }
+
+  /**
+   * Encodes a file body for the response. Text is encoded as UTF-8 directly into the ByteString,
+   * and binary content such as the gradle wrapper jar is copied as is.
+   */
+  private static ByteString toByteString(Object value) {
+    if (value instanceof Doc) {
+      return ByteString.copyFromUtf8(((Doc) value).prettyPrint());
+    } else if (value instanceof String) {
+      return ByteString.copyFromUtf8((String) value);
+    } else if (value instanceof byte[]) {
+      return ByteString.copyFrom((byte[]) value);
+    } else {
+      throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+    }
+  }
 }
@@ -0,0 +1,32 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.tools.framework.model.DiagCollector;
+import java.io.IOException;
+
+/**
+ * A GapicWriter which can also write generator output one file at a time, as it is produced, so
+ * that rendered file bodies do not need to be held in memory until generation has finished.
+ */
+public interface StreamingGapicWriter extends GapicWriter {
+
+  /**
+   * Opens a sink which writes every accepted result right away. Committing the sink completes the
+   * output, after which {@link #isDone()} returns true; closing it without committing aborts the
+   * output.
+   */
+  StreamingResultSink openSink(DiagCollector diagCollector) throws IOException;
+}
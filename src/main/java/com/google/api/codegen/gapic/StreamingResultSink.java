@@ -0,0 +1,97 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.GeneratedResultSink;
+import com.google.api.tools.framework.snippet.Doc;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Base class for the sinks returned by {@link StreamingGapicWriter}. It rejects duplicate output
+ * paths, skips results without a body, and hands every remaining result to {@link #write} without
+ * retaining it. All methods are synchronized, so a sink can be shared between generators running on
+ * different threads.
+ *
+ * <p>The output is only completed by {@link #commit}, which must be called once every generator has
+ * finished without errors. Closing a sink which was not committed aborts the output instead, so a
+ * failed run does not leave a truncated archive, or replace the output of a previous run.
+ */
+public abstract class StreamingResultSink implements GeneratedResultSink, Closeable {
+
+  private final Set<String> writtenPaths = new HashSet<>();
+  private boolean committed = false;
+
+  @Override
+  public synchronized void accept(String path, GeneratedResult<?> result) throws IOException {
+    if (committed) {
+      throw new IllegalStateException("Cannot accept results after the output was committed");
+    }
+    if (!writtenPaths.add(path)) {
+      throw new IllegalArgumentException("Multiple generated results for output path: " + path);
+    }
+    Object body = result.getBody();
+    if (body == null) {
+      return;
+    }
+    write(path, body, result.isExecutable());
+  }
+
+  /** Completes the output once all results have been accepted successfully. */
+  public final synchronized void commit() throws IOException {
+    if (committed) {
+      return;
+    }
+    finish();
+    committed = true;
+  }
+
+  /** Aborts the output unless it was committed. */
+  @Override
+  public final synchronized void close() throws IOException {
+    if (!committed) {
+      abort();
+    }
+  }
+
+  /** Writes a single result body, which is one of Doc, String or byte[]. */
+  protected abstract void write(String path, Object body, boolean executable) throws IOException;
+
+  /** Completes the output once all results have been accepted. */
+  protected abstract void finish() throws IOException;
+
+  /**
+   * Discards the output after a failed run. Results which were already written in place cannot be
+   * taken back, but the output must not be marked as done.
+   */
+  protected abstract void abort() throws IOException;
+
+  /** Renders a result body into the bytes that are written to its output file. */
+  protected static byte[] toBytes(Object body) {
+    if (body instanceof Doc) {
+      return ((Doc) body).prettyPrint().getBytes(StandardCharsets.UTF_8);
+    } else if (body instanceof String) {
+      return ((String) body).getBytes(StandardCharsets.UTF_8);
+    } else if (body instanceof byte[]) {
+      return (byte[]) body;
+    } else {
+      throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+    }
+  }
+}
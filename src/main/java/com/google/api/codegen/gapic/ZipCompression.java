@@ -0,0 +1,74 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.common.base.Strings;
+import java.util.zip.Deflater;
+
+/** The compression used for zip, jar and srcjar output. */
+public final class ZipCompression {
+
+  /** Deflate with the default compression level. */
+  public static final ZipCompression DEFAULT =
+      new ZipCompression(false, Deflater.DEFAULT_COMPRESSION);
+
+  /** Store entries uncompressed, which is the fastest option for local builds. */
+  public static final ZipCompression STORED = new ZipCompression(true, Deflater.NO_COMPRESSION);
+
+  private final boolean stored;
+  private final int level;
+
+  private ZipCompression(boolean stored, int level) {
+    this.stored = stored;
+    this.level = level;
+  }
+
+  /** Returns a compression which deflates entries with the given level, from 0 to 9. */
+  public static ZipCompression deflated(int level) {
+    if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+      throw new IllegalArgumentException("Zip compression level must be from 0 to 9: " + level);
+    }
+    return new ZipCompression(false, level);
+  }
+
+  /**
+   * Parses a compression from a command line value, which is either "stored" or a deflate level
+   * from 0 to 9. An empty value selects the default compression.
+   */
+  public static ZipCompression parse(String value) {
+    if (Strings.isNullOrEmpty(value)) {
+      return DEFAULT;
+    }
+    if (value.equalsIgnoreCase("stored")) {
+      return STORED;
+    }
+    try {
+      return deflated(Integer.parseInt(value));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "Zip compression must be 'stored' or a level from 0 to 9: " + value, e);
+    }
+  }
+
+  /** Returns true if entries are stored without compression. */
+  public boolean isStored() {
+    return stored;
+  }
+
+  /** Returns the deflate level; only meaningful if {@link #isStored()} is false. */
+  public int getLevel() {
+    return level;
+  }
+}
@@ -0,0 +1,112 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import com.google.api.tools.framework.snippet.Doc;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes generated file bodies into a zip archive. Archives with a ".jar" or ".srcjar" name are
+ * written as jar files without a manifest, the same as {@code ToolUtil.writeJar}; ".zip" archives
+ * as plain zip files.
+ *
+ * <p>When deflating, Doc and String bodies are encoded straight into the archive stream instead of
+ * being copied into an intermediate byte array first. Stored entries need their size and CRC up
+ * front, so their bodies are encoded before the entry is written.
+ */
+class ZipResultWriter implements Closeable {
+
+  private final ZipOutputStream zipStream;
+  private final Writer writer;
+  private final ZipCompression compression;
+
+  ZipResultWriter(String outputPath, ZipCompression compression) throws IOException {
+    this(outputPath, isJar(outputPath), compression);
+  }
+
+  /**
+   * Creates a writer for the given file, which is written as a jar file if {@code jar} is true
+   * regardless of its name.
+   */
+  ZipResultWriter(String filePath, boolean jar, ZipCompression compression) throws IOException {
+    FileOutputStream fileStream = new FileOutputStream(filePath);
+    this.zipStream = jar ? new JarOutputStream(fileStream) : new ZipOutputStream(fileStream);
+    this.writer = new OutputStreamWriter(zipStream, StandardCharsets.UTF_8);
+    this.compression = compression;
+    if (!compression.isStored()) {
+      zipStream.setLevel(compression.getLevel());
+    }
+  }
+
+  /** Returns true if the output path names an archive which is written as a jar file. */
+  static boolean isJar(String outputPath) {
+    return outputPath.endsWith(".jar") || outputPath.endsWith(".srcjar");
+  }
+
+  /** Returns true if the output path names an archive rather than a directory. */
+  static boolean isArchive(String outputPath) {
+    return isJar(outputPath) || outputPath.endsWith(".zip");
+  }
+
+  /** Adds an entry with the given body, which is one of Doc, String or byte[]. */
+  void write(String path, Object body) throws IOException {
+    ZipEntry entry = zipStream instanceof JarOutputStream ? new JarEntry(path) : new ZipEntry(path);
+    if (compression.isStored()) {
+      writeStored(entry, StreamingResultSink.toBytes(body));
+      return;
+    }
+
+    zipStream.putNextEntry(entry);
+    if (body instanceof Doc) {
+      writer.write(((Doc) body).prettyPrint());
+      writer.flush();
+    } else if (body instanceof String) {
+      writer.write((String) body);
+      writer.flush();
+    } else if (body instanceof byte[]) {
+      zipStream.write((byte[]) body);
+    } else {
+      throw new IllegalArgumentException("Expected one of Doc, String, or byte[]");
+    }
+    zipStream.closeEntry();
+  }
+
+  private void writeStored(ZipEntry entry, byte[] content) throws IOException {
+    CRC32 crc = new CRC32();
+    crc.update(content);
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(content.length);
+    entry.setCompressedSize(content.length);
+    entry.setCrc(crc.getValue());
+    zipStream.putNextEntry(entry);
+    zipStream.write(content);
+    zipStream.closeEntry();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+}
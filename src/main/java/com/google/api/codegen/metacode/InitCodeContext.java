@@ -82,11 +82,6 @@ public abstract class InitCodeContext {
         .collect(ImmutableList.toImmutableList());
   }
 
-  /** Returns a copy of this initCodeContext, but with an empty symbolTable. */
-  public InitCodeContext cloneWithEmptySymbolTable() {
-    return toBuilder().symbolTable(new SymbolTable()).build();
-  }
-
   /**
    * Allows additional InitCodeNode objects which will be placed into the generated subtrees. This
    * is currently used by smoke testing only.
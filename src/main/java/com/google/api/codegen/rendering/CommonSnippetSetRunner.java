@@ -17,7 +17,6 @@ package com.google.api.codegen.rendering;
 import com.google.api.codegen.common.GeneratedResult;
 import com.google.api.codegen.viewmodel.ViewModel;
 import com.google.api.tools.framework.snippet.Doc;
-import com.google.api.tools.framework.snippet.SnippetSet;
 import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 
@@ -41,11 +40,13 @@ public class CommonSnippetSetRunner {
 
   public Map<String, GeneratedResult<Doc>> generate(ViewModel input) {
     SurfaceSnippetSet snippets =
-        SnippetSet.createSnippetInterface(
-            SurfaceSnippetSet.class,
-            input.resourceRoot(),
-            input.templateFileName(),
-            ImmutableMap.of("util", utilObject));
+        SnippetSetCache.getInstance()
+            .createSnippetInterface(
+                SurfaceSnippetSet.class,
+                input.resourceRoot(),
+                input.templateFileName(),
+                ImmutableMap.of("util", utilObject),
+                utilObject);
 
     Doc doc = snippets.generate(input);
     return doc == null || doc.isWhitespace() && !allowEmptyDocs
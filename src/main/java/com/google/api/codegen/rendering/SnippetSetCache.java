@@ -0,0 +1,125 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import com.google.api.tools.framework.snippet.SnippetSet;
+import com.google.auto.value.AutoValue;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+/**
+ * A process-wide cache of parsed snippet templates.
+ *
+ * <p>Parsing a snippet file is independent of the view model it is later evaluated against, so a
+ * template only needs to be parsed once per process and can then be bound to fresh globals for
+ * every view model. The cache is safe to use from multiple threads.
+ */
+public class SnippetSetCache {
+
+  private static final SnippetSetCache INSTANCE = new SnippetSetCache();
+
+  private final ConcurrentMap<Key, SnippetSet> snippetSets = new ConcurrentHashMap<>();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  @VisibleForTesting
+  SnippetSetCache() {}
+
+  /** Returns the process-wide cache instance. */
+  public static SnippetSetCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns a snippet interface of the given type for the template {@code templateFileName} under
+   * {@code resourceRoot}, bound to the given globals. The template is parsed at most once per
+   * (resource root, template file name, util object class) triple.
+   */
+  public <T> T createSnippetInterface(
+      Class<T> snippetInterface,
+      String resourceRoot,
+      String templateFileName,
+      Map<String, Object> globals,
+      Object utilObject) {
+    Key key =
+        Key.create(
+            resourceRoot, templateFileName, utilObject == null ? null : utilObject.getClass());
+    SnippetSet snippetSet = snippetSets.get(key);
+    if (snippetSet != null) {
+      hitCount.incrementAndGet();
+    } else {
+      snippetSet = snippetSets.computeIfAbsent(key, SnippetSetCache::parse);
+      missCount.incrementAndGet();
+    }
+    return snippetSet.bind(snippetInterface, globals);
+  }
+
+  /** Returns the number of lookups which were served from the cache. */
+  public long hitCount() {
+    return hitCount.get();
+  }
+
+  /** Returns the number of lookups which required the template to be parsed. */
+  public long missCount() {
+    return missCount.get();
+  }
+
+  /** Returns the number of parsed templates currently held by the cache. */
+  public int size() {
+    return snippetSets.size();
+  }
+
+  /**
+   * Returns a summary of the lookups and parsed templates, e.g. for logging at the end of a run.
+   */
+  public String describeStats() {
+    return MoreObjects.toStringHelper(SnippetSetCache.class)
+        .add("templates", size())
+        .add("hits", hitCount())
+        .add("misses", missCount())
+        .toString();
+  }
+
+  private static SnippetSet parse(Key key) {
+    try {
+      return SnippetSet.parse(
+          SnippetSet.resourceInputSupplier(key.resourceRoot()), key.templateFileName());
+    } catch (Exception e) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Failed to parse snippet template %s/%s", key.resourceRoot(), key.templateFileName()),
+          e);
+    }
+  }
+
+  @AutoValue
+  abstract static class Key {
+    abstract String resourceRoot();
+
+    abstract String templateFileName();
+
+    @Nullable
+    abstract Class<?> utilClass();
+
+    static Key create(String resourceRoot, String templateFileName, Class<?> utilClass) {
+      return new AutoValue_SnippetSetCache_Key(resourceRoot, templateFileName, utilClass);
+    }
+  }
+}
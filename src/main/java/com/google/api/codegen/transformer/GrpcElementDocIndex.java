@@ -0,0 +1,117 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer;
+
+import com.google.api.codegen.config.GapicProductConfig;
+import com.google.api.codegen.config.ProtoTypeRef;
+import com.google.api.codegen.gapic.GapicParser;
+import com.google.api.tools.framework.model.EnumType;
+import com.google.api.tools.framework.model.MessageType;
+import com.google.api.tools.framework.model.ProtoContainerElement;
+import com.google.api.tools.framework.model.ProtoElement;
+import com.google.api.tools.framework.model.TypeRef;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * The proto elements documented by {@link GrpcElementDocTransformer}, computed once per product
+ * config and shared by the doc files of all proto files and languages.
+ *
+ * <p>Doc strings are stored unrendered, since the doc lines depend on the comment reformatter of
+ * each language; the rendered lines are cached by {@link
+ * com.google.api.codegen.util.DocCommentCache}.
+ */
+public class GrpcElementDocIndex {
+
+  // The index of each product config, which is released together with the product config. An
+  // index must never reference its product config, since the cache holds the index strongly and
+  // would keep the product config reachable forever.
+  private static final LoadingCache<GapicProductConfig, GrpcElementDocIndex> INDEXES =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(GrpcElementDocIndex::new));
+
+  private final ImmutableSet<String> longRunningTypes;
+  private final Map<ProtoContainerElement, ImmutableList<MessageType>> documentedMessages =
+      new ConcurrentHashMap<>();
+  private final Map<ProtoContainerElement, ImmutableList<EnumType>> reachableEnums =
+      new ConcurrentHashMap<>();
+  private final Map<ProtoElement, String> docStrings = new ConcurrentHashMap<>();
+
+  private GrpcElementDocIndex(GapicProductConfig productConfig) {
+    // Computed eagerly, so that the index does not capture the product config.
+    this.longRunningTypes = computeLongRunningTypes(productConfig);
+  }
+
+  public static GrpcElementDocIndex forProduct(GapicProductConfig productConfig) {
+    return INDEXES.getUnchecked(productConfig);
+  }
+
+  /** Returns the full names of the return and metadata types of the long running methods. */
+  public Set<String> getLongRunningTypes() {
+    return longRunningTypes;
+  }
+
+  /**
+   * Returns the messages of the container which are documented, i.e. which are reachable or are the
+   * types of long running operations, and are not map entries.
+   */
+  public List<MessageType> getDocumentedMessages(ProtoContainerElement containerElement) {
+    return documentedMessages.computeIfAbsent(
+        containerElement,
+        container ->
+            container
+                .getMessages()
+                .stream()
+                .filter(m -> m.isReachable() || getLongRunningTypes().contains(m.getFullName()))
+                // Doesn't have to document map entries because a dictionary is used.
+                .filter(m -> !m.isMapEntry())
+                .collect(ImmutableList.toImmutableList()));
+  }
+
+  /** Returns the reachable enums of the container. */
+  public List<EnumType> getReachableEnums(ProtoContainerElement containerElement) {
+    return reachableEnums.computeIfAbsent(
+        containerElement,
+        container ->
+            container
+                .getEnums()
+                .stream()
+                .filter(EnumType::isReachable)
+                .collect(ImmutableList.toImmutableList()));
+  }
+
+  /** Returns the doc string of the element, as returned by {@link GapicParser#getDocString}. */
+  public String getDocString(ProtoElement element) {
+    return docStrings.computeIfAbsent(element, GapicParser::getDocString);
+  }
+
+  private static ImmutableSet<String> computeLongRunningTypes(GapicProductConfig productConfig) {
+    return productConfig
+        .getAllLongRunningConfigs()
+        .stream()
+        .flatMap(lro -> Stream.of(lro.getReturnType(), lro.getMetadataType()))
+        .map(t -> ((ProtoTypeRef) t).getProtoType())
+        .map(TypeRef::getMessageType)
+        .map(MessageType::getFullName)
+        .collect(ImmutableSet.toImmutableSet());
+  }
+}
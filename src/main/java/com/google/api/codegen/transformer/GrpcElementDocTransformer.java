@@ -17,7 +17,6 @@ package com.google.api.codegen.transformer;
 import com.google.api.codegen.config.FieldConfig;
 import com.google.api.codegen.config.FieldModel;
 import com.google.api.codegen.config.GapicProductConfig;
-import com.google.api.codegen.config.ProtoTypeRef;
 import com.google.api.codegen.gapic.GapicParser;
 import com.google.api.codegen.viewmodel.GrpcElementDocView;
 import com.google.api.codegen.viewmodel.GrpcEnumDocView;
@@ -31,13 +30,10 @@ import com.google.api.tools.framework.model.MessageType;
 import com.google.api.tools.framework.model.ProtoContainerElement;
 import com.google.api.tools.framework.model.TypeRef;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Stream;
 
 public class GrpcElementDocTransformer {
   public List<GrpcElementDocView> generateElementDocs(
@@ -45,48 +41,38 @@ public class GrpcElementDocTransformer {
       ModelTypeTable typeTable,
       SurfaceNamer namer,
       ProtoContainerElement containerElement) {
+    return generateElementDocs(
+        GrpcElementDocIndex.forProduct(productConfig), typeTable, namer, containerElement);
+  }
+
+  private List<GrpcElementDocView> generateElementDocs(
+      GrpcElementDocIndex index,
+      ModelTypeTable typeTable,
+      SurfaceNamer namer,
+      ProtoContainerElement containerElement) {
+    List<MessageType> messages = index.getDocumentedMessages(containerElement);
     ImmutableList.Builder<GrpcElementDocView> children = ImmutableList.builder();
-    Set<String> lroTypes =
-        productConfig
-            .getAllLongRunningConfigs()
-            .stream()
-            .flatMap(lro -> Stream.of(lro.getReturnType(), lro.getMetadataType()))
-            .map(t -> ((ProtoTypeRef) t).getProtoType())
-            .map(TypeRef::getMessageType)
-            .map(MessageType::getFullName)
-            .collect(ImmutableSet.toImmutableSet());
-    Collection<MessageType> messages =
-        containerElement
-            .getMessages()
-            .stream()
-            .filter(m -> m.isReachable() || lroTypes.contains(m.getFullName()))
-            .collect(ImmutableList.toImmutableList());
-    children.addAll(generateMessageDocs(productConfig, typeTable, namer, messages));
-    children.addAll(generateEnumDocs(typeTable, namer, containerElement.getEnums()));
+    children.addAll(generateMessageDocs(index, typeTable, namer, messages));
+    children.addAll(generateEnumDocs(index, typeTable, namer, containerElement));
     return children.build();
   }
 
   private List<GrpcElementDocView> generateMessageDocs(
-      GapicProductConfig productConfig,
+      GrpcElementDocIndex index,
       ModelTypeTable typeTable,
       SurfaceNamer namer,
       Collection<MessageType> messages) {
     ImmutableList.Builder<GrpcElementDocView> messageDocs = ImmutableList.builder();
     for (MessageType message : messages) {
-      // Doesn't have to document map entries because a dictionary is used.
-      if (message.isMapEntry()) {
-        continue;
-      }
-
       GrpcMessageDocView.Builder doc = GrpcMessageDocView.newBuilder();
       doc.name(namer.getMessageTypeName(typeTable, message));
       doc.fullName(typeTable.getFullNameFor(TypeRef.of(message)));
       doc.fileUrl(GapicParser.getFileUrl(message.getFile()));
-      doc.lines(namer.getDocLines(GapicParser.getDocString(message)));
+      doc.lines(namer.getDocLines(index.getDocString(message)));
       doc.properties(
           generateMessagePropertyDocs(
               typeTable, namer, FieldConfig.toFieldTypeIterableFromField(message.getFields())));
-      doc.elementDocs(generateElementDocs(productConfig, typeTable, namer, message));
+      doc.elementDocs(generateElementDocs(index, typeTable, namer, message));
       doc.packageName(message.getFile().getFullName());
       messageDocs.add(doc.build());
     }
@@ -106,19 +92,19 @@ public class GrpcElementDocTransformer {
     return propertyDocs.build();
   }
 
-  /** Return a list of enums, sorted alphabetically by name. */
+  /** Return a list of the reachable enums of the container, sorted alphabetically by name. */
   public List<GrpcEnumDocView> generateEnumDocs(
-      ModelTypeTable typeTable, SurfaceNamer namer, Collection<EnumType> enumElements) {
+      GrpcElementDocIndex index,
+      ModelTypeTable typeTable,
+      SurfaceNamer namer,
+      ProtoContainerElement containerElement) {
     ImmutableSortedSet.Builder<GrpcEnumDocView> enumDocs =
         ImmutableSortedSet.orderedBy(Comparator.comparing(GrpcEnumDocView::name));
-    for (EnumType enumElement : enumElements) {
-      if (!enumElement.isReachable()) {
-        continue;
-      }
+    for (EnumType enumElement : index.getReachableEnums(containerElement)) {
       GrpcEnumDocView.Builder doc = GrpcEnumDocView.newBuilder();
       doc.name(namer.getEnumTypeName(typeTable, enumElement));
-      doc.lines(namer.getDocLines(GapicParser.getDocString(enumElement)));
-      doc.values(generateEnumValueDocs(namer, enumElement.getValues()));
+      doc.lines(namer.getDocLines(index.getDocString(enumElement)));
+      doc.values(generateEnumValueDocs(index, namer, enumElement.getValues()));
       doc.packageName(enumElement.getFile().getFullName());
       enumDocs.add(doc.build());
     }
@@ -126,13 +112,13 @@ public class GrpcElementDocTransformer {
   }
 
   private List<GrpcEnumValueDocView> generateEnumValueDocs(
-      SurfaceNamer namer, Collection<EnumValue> values) {
+      GrpcElementDocIndex index, SurfaceNamer namer, Collection<EnumValue> values) {
     ImmutableList.Builder<GrpcEnumValueDocView> valueDocs = ImmutableList.builder();
     for (EnumValue value : values) {
       GrpcEnumValueDocView.Builder doc = GrpcEnumValueDocView.newBuilder();
       doc.name(value.getSimpleName());
       doc.number(value.getNumber());
-      doc.lines(namer.getDocLines(GapicParser.getDocString(value)));
+      doc.lines(namer.getDocLines(index.getDocString(value)));
       valueDocs.add(doc.build());
     }
     return valueDocs.build();
@@ -121,7 +121,16 @@ public class InitCodeTransformer {
   /** Generates initialization code from the given MethodContext and InitCodeContext objects. */
   public InitCodeView generateInitCode(
       MethodContext methodContext, InitCodeContext initCodeContext) {
-    InitCodeNode rootNode = InitCodeNode.createTree(initCodeContext);
+    return generateInitCode(
+        methodContext, initCodeContext, InitCodeNode.createTree(initCodeContext));
+  }
+
+  /**
+   * Generates initialization code from a tree created by {@link InitCodeNode#createTree} for the
+   * given InitCodeContext. The tree can be shared by several calls.
+   */
+  public InitCodeView generateInitCode(
+      MethodContext methodContext, InitCodeContext initCodeContext, InitCodeNode rootNode) {
     if (initCodeContext.outputType() == InitCodeOutputType.FieldList) {
       return buildInitCodeViewFlattened(methodContext, initCodeContext, rootNode);
     } else {
@@ -129,9 +138,11 @@ public class InitCodeTransformer {
     }
   }
 
-  public List<InitCodeNode> getInitCodeNodes(
-      MethodContext methodContext, InitCodeContext initCodeContext) {
-    InitCodeNode root = InitCodeNode.createTree(initCodeContext);
+  /**
+   * Returns the nodes of a tree created by {@link InitCodeNode#createTree} for the given
+   * InitCodeContext which are initialized in the sample body, in initialization order.
+   */
+  public List<InitCodeNode> getInitCodeNodes(InitCodeContext initCodeContext, InitCodeNode root) {
     List<InitCodeNode> orderedItems = root.listInInitializationOrder();
     if (initCodeContext.outputType() == InitCodeOutputType.FieldList) {
       // Remove the request object for flattened method
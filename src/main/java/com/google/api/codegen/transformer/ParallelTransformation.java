@@ -0,0 +1,114 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * Fans independent units of transformation work, such as the per-interface views of a
+ * ModelToViewTransformer, out to a fork-join pool.
+ *
+ * <p>Results are always returned in input order, so the generated views do not depend on the
+ * parallelism. The pool is owned by the caller, which passes the transformation to the generators
+ * it creates and shuts the pool down once they have run; transformers which are not given one use
+ * {@link #sequential()}.
+ *
+ * <p>Only the per-interface work of the Java and Go surface transformers and of the Java, PHP and
+ * Node.js sample transformers is fanned out. The tasks of one transformation share the following
+ * state, which is safe to use concurrently:
+ *
+ * <ul>
+ *   <li>The elements of the Model, which are fully resolved and only read. Documentation is the
+ *       exception: resolving the scoped description of an element lazily fills the location map of
+ *       its proto file and may report diagnostics, so it goes through {@code
+ *       GapicParser.getDocString}, which locks the model.
+ *   <li>The DiagCollector of the model, which transformers only report to through that doc string
+ *       lookup.
+ *   <li>The GapicProductConfig and its nested configs, which are immutable.
+ *   <li>The process-wide caches (SnippetSetCache, DocCommentCache, GrpcElementDocIndex and the
+ *       caches of ProtoParser), which are thread-safe.
+ * </ul>
+ *
+ * <p>Namers, type tables and contexts are not thread-safe and are created by every task.
+ */
+public class ParallelTransformation {
+
+  private static final ParallelTransformation SEQUENTIAL = new ParallelTransformation(null);
+
+  @Nullable private final ForkJoinPool pool;
+
+  private ParallelTransformation(@Nullable ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /** Returns a transformation which runs all work sequentially on the calling thread. */
+  public static ParallelTransformation sequential() {
+    return SEQUENTIAL;
+  }
+
+  /**
+   * Returns a transformation which runs work on the given pool. The pool is not shut down by the
+   * transformation.
+   */
+  public static ParallelTransformation withPool(ForkJoinPool pool) {
+    return pool.getParallelism() <= 1 ? SEQUENTIAL : new ParallelTransformation(pool);
+  }
+
+  /** Returns the maximum number of inputs transformed concurrently. */
+  public int getParallelism() {
+    return pool == null ? 1 : pool.getParallelism();
+  }
+
+  /**
+   * Applies {@code transform} to every input and returns the results in input order. The inputs are
+   * transformed concurrently if the parallelism is greater than 1, so {@code transform} must not
+   * mutate state shared between inputs.
+   */
+  public <T, R> List<R> transform(
+      Collection<? extends T> inputs, Function<? super T, ? extends R> transform) {
+    if (pool == null || inputs.size() <= 1) {
+      List<R> results = new ArrayList<>(inputs.size());
+      for (T input : inputs) {
+        results.add(transform.apply(input));
+      }
+      return results;
+    }
+
+    try {
+      return pool.submit(
+              () -> inputs.parallelStream().<R>map(transform).collect(Collectors.toList()))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while transforming", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+}
@@ -15,16 +15,18 @@
 package com.google.api.codegen.transformer;
 
 import com.google.auto.value.AutoValue;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * {@code SampleFileRegistry} is used to verify that the samples we generate with different
  * parameters have different paths, so they don't clobber each other.
+ *
+ * <p>A registry is safe to share between samples generated concurrently.
  */
 public class SampleFileRegistry {
 
-  private final Map<String, SampleInfo> files = new HashMap<>();
+  private final ConcurrentMap<String, SampleInfo> files = new ConcurrentHashMap<>();
 
   /**
    * Adds a file with the given parameters to the registry. If a file with the given {@code path}
@@ -41,10 +43,8 @@ public class SampleFileRegistry {
             .valueSet(valueSet)
             .regionTag(regionTag)
             .build();
-    SampleInfo previous = files.get(path);
-    if (previous == null) {
-      files.put(path, current);
-    } else if (!current.equals(previous)) {
+    SampleInfo previous = files.putIfAbsent(path, current);
+    if (previous != null && !current.equals(previous)) {
       throw new IllegalArgumentException(
           String.format(
               "conflicting configurations for sample \"%s\":\n  %s\n  %s",
@@ -26,6 +26,7 @@ import com.google.api.codegen.config.SampleSpec.SampleType;
 import com.google.api.codegen.config.SampleSpec.ValueSetAndTags;
 import com.google.api.codegen.metacode.InitCodeContext;
 import com.google.api.codegen.metacode.InitCodeContext.InitCodeOutputType;
+import com.google.api.codegen.metacode.InitCodeNode;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.viewmodel.ApiMethodView;
 import com.google.api.codegen.viewmodel.CallingForm;
@@ -44,7 +45,9 @@ import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A class that performs the transformations needed to generate the MethodSampleView for the
@@ -204,6 +207,8 @@ public abstract class SampleTransformer {
     List<MethodSampleView> methodSampleViews = new ArrayList<>();
     MethodConfig methodConfig = methodContext.getMethodConfig();
     ImmutableList<ValueSetAndTags> defaultValueSets = defaultValueSets(methodConfig);
+    // The init code of each value set, shared by the calling forms which use the value set.
+    Map<SampleValueSet, SampleInitCode> initCodeByValueSet = new HashMap<>();
     for (CallingForm form : callingForms) {
       List<ValueSetAndTags> matchingValueSets =
           methodConfig.getSampleSpec().getMatchingValueSets(form, sampleType());
@@ -215,14 +220,24 @@ public abstract class SampleTransformer {
       }
 
       for (ValueSetAndTags setAndTag : matchingValueSets) {
-        // Don't overwrite the initContext in outer scope.
-        InitCodeContext thisContext = initContext;
         SampleValueSet valueSet = setAndTag.values();
-        if (thisContext == null) {
-          thisContext =
-              createInitCodeContext(methodContext, fieldConfigs, initCodeOutputType, valueSet);
+        SampleInitCode initCode;
+        if (initContext == null) {
+          // A new context, and thus symbol table, is created for each value set, so the tree is
+          // the same for all calling forms.
+          initCode =
+              initCodeByValueSet.computeIfAbsent(
+                  valueSet,
+                  v ->
+                      new SampleInitCode(
+                          createInitCodeContext(
+                              methodContext, fieldConfigs, initCodeOutputType, v)));
+        } else {
+          // The symbol table of the given context is shared by all samples, so each sample has
+          // its own tree.
+          initCode = new SampleInitCode(initContext);
         }
-        methodSampleViews.add(generateSample(setAndTag, form, methodContext, thisContext));
+        methodSampleViews.add(generateSample(setAndTag, form, methodContext, initCode));
       }
     }
     return methodSampleViews;
@@ -232,10 +247,10 @@ public abstract class SampleTransformer {
       ValueSetAndTags setAndTag,
       CallingForm form,
       MethodContext methodContext,
-      InitCodeContext initCodeContext) {
+      SampleInitCode initCode) {
     methodContext = methodContext.cloneWithEmptyTypeTable();
     InitCodeView initCodeView =
-        initCodeTransformer().generateInitCode(methodContext, initCodeContext);
+        initCodeTransformer().generateInitCode(methodContext, initCode.context, initCode.tree);
     SampleValueSet valueSet = setAndTag.values();
     List<OutputSpec> outputs = valueSet.getOnSuccessList();
     if (outputs.isEmpty()) {
@@ -249,10 +264,7 @@ public abstract class SampleTransformer {
         .addInitCodeImports(
             methodContext,
             methodContext.getTypeTable(),
-            initCodeTransformer()
-                .getInitCodeNodes(
-                    methodContext,
-                    initCodeContext.cloneWithEmptySymbolTable())); // to avoid symbol collision
+            initCodeTransformer().getInitCodeNodes(initCode.context, initCode.tree));
     ImportSectionView sampleImportSectionView =
         sampleImportTransformer().generateImportSection(methodContext);
     SampleFunctionDocView sampleFunctionDocView =
@@ -381,4 +393,15 @@ public abstract class SampleTransformer {
     }
     return builder.build();
   }
+
+  /** The init code context of a sample, and the init code tree created from it. */
+  private static class SampleInitCode {
+    private final InitCodeContext context;
+    private final InitCodeNode tree;
+
+    private SampleInitCode(InitCodeContext context) {
+      this.context = context;
+      this.tree = InitCodeNode.createTree(context);
+    }
+  }
 }
@@ -35,7 +35,7 @@ import com.google.api.codegen.config.VisibilityConfig;
 import com.google.api.codegen.discovery.Document;
 import com.google.api.codegen.discovery.Schema;
 import com.google.api.codegen.util.CommentReformatter;
-import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.NameFormatter;
 import com.google.api.codegen.util.NameFormatterDelegator;
@@ -1386,7 +1386,7 @@ public class SurfaceNamer extends NameFormatterDelegator {
 
   /** Converts the given text to doc lines in the format of the current language. */
   public List<String> getDocLines(String text) {
-    return CommonRenderingUtil.getDocLines(commentReformatter.reformat(text));
+    return DocCommentCache.getDocLines(commentReformatter, text);
   }
 
   /**
@@ -1398,10 +1398,8 @@ public class SurfaceNamer extends NameFormatterDelegator {
   }
 
   protected List<String> getWrappedDocLines(String text, boolean reformat, int maxWidth) {
-    if (reformat) {
-      return CommonRenderingUtil.getDocLines(getCommentReformatter().reformat(text), maxWidth);
-    }
-    return CommonRenderingUtil.getDocLines(text, maxWidth);
+    return DocCommentCache.getWrappedDocLines(
+        reformat ? getCommentReformatter() : null, text, maxWidth);
   }
 
   /** Converts the given text to doc lines in the format of the current language. */
@@ -1414,7 +1412,7 @@ public class SurfaceNamer extends NameFormatterDelegator {
           .append("\nThe key for the map is: ")
           .append(schema.additionalProperties().description());
     }
-    return CommonRenderingUtil.getDocLines(commentReformatter.reformat(description.toString()));
+    return DocCommentCache.getDocLines(commentReformatter, description.toString());
   }
 
   /** Provides the doc lines for the given field in the current language. */
@@ -39,6 +39,7 @@ import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.transformer.ModelTypeTable;
 import com.google.api.codegen.transformer.PageStreamingTransformer;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.PathTemplateTransformer;
 import com.google.api.codegen.transformer.ServiceTransformer;
 import com.google.api.codegen.transformer.StaticLangApiMethodTransformer;
@@ -95,9 +96,16 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
   private final ProductServiceConfig productServiceConfig = new ProductServiceConfig();
 
   private final GapicCodePathMapper pathMapper;
+  private final ParallelTransformation parallelTransformation;
 
   public GoGapicSurfaceTransformer(GapicCodePathMapper pathMapper) {
+    this(pathMapper, ParallelTransformation.sequential());
+  }
+
+  public GoGapicSurfaceTransformer(
+      GapicCodePathMapper pathMapper, ParallelTransformation parallelTransformation) {
     this.pathMapper = pathMapper;
+    this.parallelTransformation = parallelTransformation;
   }
 
   @Override
@@ -109,20 +117,39 @@ public class GoGapicSurfaceTransformer implements ModelToViewTransformer<ProtoAp
   public List<ViewModel> transform(ProtoApiModel model, GapicProductConfig productConfig) {
     List<ViewModel> models = new ArrayList<>();
     GoSurfaceNamer namer = new GoSurfaceNamer(productConfig.getPackageName());
+    List<InterfaceModel> apiInterfaces = new ArrayList<>();
     for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
-      if (!productConfig.hasInterfaceConfig(apiInterface)) {
-        continue;
+      if (productConfig.hasInterfaceConfig(apiInterface)) {
+        apiInterfaces.add(apiInterface);
       }
+    }
 
-      GapicInterfaceContext context =
-          GapicInterfaceContext.create(
-              apiInterface, productConfig, createTypeTable(), namer, featureConfig);
-      models.add(generate(context));
-
-      context =
-          GapicInterfaceContext.create(
-              apiInterface, productConfig, createTypeTable(), namer, featureConfig);
-      models.add(generateExample(context));
+    // Interfaces are transformed concurrently. Each gets its own type tables and namer, since
+    // namers are not thread-safe in general, so no mutable state is shared between them.
+    List<List<ViewModel>> interfaceModels =
+        parallelTransformation.transform(
+            apiInterfaces,
+            apiInterface -> {
+              GoSurfaceNamer interfaceNamer = new GoSurfaceNamer(productConfig.getPackageName());
+              GapicInterfaceContext context =
+                  GapicInterfaceContext.create(
+                      apiInterface,
+                      productConfig,
+                      createTypeTable(),
+                      interfaceNamer,
+                      featureConfig);
+              GapicInterfaceContext exampleContext =
+                  GapicInterfaceContext.create(
+                      apiInterface,
+                      productConfig,
+                      createTypeTable(),
+                      interfaceNamer,
+                      featureConfig);
+              return ImmutableList.<ViewModel>of(
+                  generate(context), generateExample(exampleContext));
+            });
+    for (List<ViewModel> viewModels : interfaceModels) {
+      models.addAll(viewModels);
     }
     models.add(generatePackageInfo(model, productConfig, namer));
     return models;
@@ -25,6 +25,7 @@ import com.google.api.codegen.transformer.FileHeaderTransformer;
 import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.transformer.ModelTypeTable;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.SampleFileRegistry;
 import com.google.api.codegen.transformer.StandardImportSectionTransformer;
 import com.google.api.codegen.transformer.SurfaceNamer;
@@ -46,6 +47,7 @@ import java.util.List;
  */
 public class JavaGapicSamplesTransformer implements ModelToViewTransformer<ProtoApiModel> {
   private final GapicCodePathMapper pathMapper;
+  private final ParallelTransformation parallelTransformation;
 
   private static final String STANDALONE_SAMPLE_TEMPLATE_FILENAME = "java/standalone_sample.snip";
   private final JavaMethodViewGenerator methodGenerator =
@@ -56,27 +58,41 @@ public class JavaGapicSamplesTransformer implements ModelToViewTransformer<Proto
       new FileHeaderTransformer(importSectionTransformer);
 
   public JavaGapicSamplesTransformer(GapicCodePathMapper pathMapper) {
+    this(pathMapper, ParallelTransformation.sequential());
+  }
+
+  public JavaGapicSamplesTransformer(
+      GapicCodePathMapper pathMapper, ParallelTransformation parallelTransformation) {
     this.pathMapper = pathMapper;
+    this.parallelTransformation = parallelTransformation;
   }
 
   @Override
   public List<ViewModel> transform(ProtoApiModel model, GapicProductConfig productConfig) {
-    List<ViewModel> surfaceDocs = new ArrayList<>();
-    SurfaceNamer namer = createSurfaceNamer(productConfig);
-
+    List<InterfaceModel> apiInterfaces = new ArrayList<>();
     for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
-      if (!productConfig.hasInterfaceConfig(apiInterface)) {
-        continue;
+      if (productConfig.hasInterfaceConfig(apiInterface)) {
+        apiInterfaces.add(apiInterface);
       }
+    }
 
-      ImportTypeTable typeTable = createTypeTable(namer.getExamplePackageName());
-      InterfaceContext context =
-          createInterfaceContext(apiInterface, productConfig, namer, typeTable);
+    // Each interface has its own namer and type table, so its samples can be generated
+    // concurrently.
+    List<List<ViewModel>> interfaceSampleFiles =
+        parallelTransformation.transform(
+            apiInterfaces,
+            apiInterface -> {
+              SurfaceNamer namer = createSurfaceNamer(productConfig);
+              ImportTypeTable typeTable = createTypeTable(namer.getExamplePackageName());
+              InterfaceContext context =
+                  createInterfaceContext(apiInterface, productConfig, namer, typeTable);
+              return generateSampleFiles(context);
+            });
 
-      List<ViewModel> sampleFiles = generateSampleFiles(context);
+    List<ViewModel> surfaceDocs = new ArrayList<>();
+    for (List<ViewModel> sampleFiles : interfaceSampleFiles) {
       surfaceDocs.addAll(sampleFiles);
     }
-
     return surfaceDocs;
   }
 
@@ -22,6 +22,7 @@ import com.google.api.codegen.gapic.GapicCodePathMapper;
 import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.transformer.ModelTypeTable;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.transformer.SurfaceTransformer;
 import com.google.api.codegen.util.java.JavaTypeTable;
@@ -37,6 +38,7 @@ public class JavaGapicSurfaceTransformer
     implements ModelToViewTransformer<ProtoApiModel>, SurfaceTransformer {
 
   private final GapicCodePathMapper pathMapper;
+  private final ParallelTransformation parallelTransformation;
 
   private static final String API_TEMPLATE_FILENAME = "java/main.snip";
   private static final String SETTINGS_TEMPLATE_FILENAME = "java/settings.snip";
@@ -50,7 +52,13 @@ public class JavaGapicSurfaceTransformer
       "java/page_streaming_response.snip";
 
   public JavaGapicSurfaceTransformer(GapicCodePathMapper pathMapper) {
+    this(pathMapper, ParallelTransformation.sequential());
+  }
+
+  public JavaGapicSurfaceTransformer(
+      GapicCodePathMapper pathMapper, ParallelTransformation parallelTransformation) {
     this.pathMapper = Preconditions.checkNotNull(pathMapper);
+    this.parallelTransformation = Preconditions.checkNotNull(parallelTransformation);
   }
 
   @Override
@@ -70,7 +78,11 @@ public class JavaGapicSurfaceTransformer
   public List<ViewModel> transform(ProtoApiModel model, GapicProductConfig productConfig) {
     JavaSurfaceTransformer commonSurfaceTransformer =
         new JavaSurfaceTransformer(
-            pathMapper, this, GRPC_STUB_TEMPLATE_FILENAME, GRPC_CALLABLE_FACTORY_TEMPLATE_FILENAME);
+            pathMapper,
+            this,
+            GRPC_STUB_TEMPLATE_FILENAME,
+            GRPC_CALLABLE_FACTORY_TEMPLATE_FILENAME,
+            parallelTransformation);
     return commonSurfaceTransformer.transform(model, productConfig);
   }
 
@@ -37,6 +37,7 @@ import com.google.api.codegen.transformer.ModelTypeFormatterImpl;
 import com.google.api.codegen.transformer.SchemaTypeFormatterImpl;
 import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.Inflector;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.NamePath;
@@ -120,7 +121,8 @@ public class JavaSurfaceNamer extends SurfaceNamer {
 
   @Override
   public String getParamDocText(String paramName, String paramTypeName, String text) {
-    return String.format("@param %s %s", paramName, getCommentReformatter().reformat(text));
+    String docText = DocCommentCache.reformat(getCommentReformatter(), text);
+    return String.format("@param %s %s", paramName, docText);
   }
 
   @Override
@@ -35,6 +35,7 @@ import com.google.api.codegen.transformer.BatchingTransformer;
 import com.google.api.codegen.transformer.FileHeaderTransformer;
 import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.PageStreamingTransformer;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.PathTemplateTransformer;
 import com.google.api.codegen.transformer.RetryDefinitionsTransformer;
 import com.google.api.codegen.transformer.ServiceTransformer;
@@ -75,6 +76,7 @@ public class JavaSurfaceTransformer {
   private final SurfaceTransformer surfaceTransformer;
   private final String rpcStubTemplateFilename;
   private final String callableFactoryTemplateFilename;
+  private final ParallelTransformation parallelTransformation;
 
   private final ServiceTransformer serviceTransformer = new ServiceTransformer();
   private final PathTemplateTransformer pathTemplateTransformer = new PathTemplateTransformer();
@@ -103,56 +105,49 @@ public class JavaSurfaceTransformer {
       SurfaceTransformer surfaceTransformer,
       String rpcStubSnippetFileName,
       String callableFactoryTemplateFilename) {
+    this(
+        pathMapper,
+        surfaceTransformer,
+        rpcStubSnippetFileName,
+        callableFactoryTemplateFilename,
+        ParallelTransformation.sequential());
+  }
+
+  public JavaSurfaceTransformer(
+      GapicCodePathMapper pathMapper,
+      SurfaceTransformer surfaceTransformer,
+      String rpcStubSnippetFileName,
+      String callableFactoryTemplateFilename,
+      ParallelTransformation parallelTransformation) {
     this.pathMapper = Preconditions.checkNotNull(pathMapper);
     this.surfaceTransformer = Preconditions.checkNotNull(surfaceTransformer);
     this.rpcStubTemplateFilename = Preconditions.checkNotNull(rpcStubSnippetFileName);
     this.callableFactoryTemplateFilename =
         Preconditions.checkNotNull(callableFactoryTemplateFilename);
+    this.parallelTransformation = Preconditions.checkNotNull(parallelTransformation);
   }
 
   public List<ViewModel> transform(ApiModel model, GapicProductConfig productConfig) {
     List<ViewModel> surfaceDocs = new ArrayList<>();
     SurfaceNamer namer = surfaceTransformer.createSurfaceNamer(productConfig);
 
-    List<ServiceDocView> serviceDocs = new ArrayList<>();
+    List<InterfaceModel> apiInterfaces = new ArrayList<>();
     for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
-      if (!productConfig.hasInterfaceConfig(apiInterface)) {
-        continue;
+      if (productConfig.hasInterfaceConfig(apiInterface)) {
+        apiInterfaces.add(apiInterface);
       }
+    }
+
+    // Interfaces are independent of each other, so their files can be generated concurrently.
+    List<InterfaceSurfaceDocs> interfaceDocs =
+        parallelTransformation.transform(
+            apiInterfaces,
+            apiInterface -> generateInterfaceSurfaceDocs(apiInterface, productConfig));
 
-      ImportTypeTable typeTable =
-          surfaceTransformer.createTypeTable(productConfig.getPackageName());
-      InterfaceContext context =
-          surfaceTransformer.createInterfaceContext(apiInterface, productConfig, namer, typeTable);
-      StaticLangFileView<StaticLangApiView> apiFile = generateApiFile(context, productConfig);
-      surfaceDocs.add(apiFile);
-
-      serviceDocs.add(apiFile.classView().doc());
-
-      StaticLangApiMethodView exampleApiMethod =
-          getExampleApiMethod(apiFile.classView().apiMethods());
-
-      context = context.withNewTypeTable(namer.getStubPackageName());
-      StaticLangFileView<StaticLangStubSettingsView> stubSettingsFile =
-          generateStubSettingsFile(context, productConfig, exampleApiMethod);
-
-      context = context.withNewTypeTable(namer.getRootPackageName());
-      StaticLangFileView<StaticLangSettingsView> settingsFile =
-          generateSettingsFile(
-              context, productConfig, exampleApiMethod, stubSettingsFile.classView());
-      surfaceDocs.add(settingsFile);
-      surfaceDocs.add(stubSettingsFile);
-
-      context = context.withNewTypeTable(namer.getStubPackageName());
-      StaticLangFileView<StaticLangStubInterfaceView> stubInterfaceFile =
-          generateStubInterfaceFile(context, productConfig);
-      surfaceDocs.add(stubInterfaceFile);
-
-      context = context.withNewTypeTable(namer.getStubPackageName());
-      StaticLangFileView<StaticLangRpcStubView> grpcStubFile =
-          generateRpcStubClassFile(context, productConfig);
-      surfaceDocs.add(grpcStubFile);
-      surfaceDocs.add(generateCallableFactoryClassFile(context, productConfig));
+    List<ServiceDocView> serviceDocs = new ArrayList<>();
+    for (InterfaceSurfaceDocs docs : interfaceDocs) {
+      surfaceDocs.addAll(docs.surfaceDocs);
+      serviceDocs.add(docs.serviceDoc);
     }
 
     PackageInfoView packageInfo = generatePackageInfo(model, productConfig, namer, serviceDocs);
@@ -161,6 +156,60 @@ public class JavaSurfaceTransformer {
     return surfaceDocs;
   }
 
+  /**
+   * Generates the files of one interface. Interfaces may be generated concurrently, so each gets
+   * its own namer and type tables; the namer holds a JavaTypeTable, which is not thread-safe.
+   */
+  private InterfaceSurfaceDocs generateInterfaceSurfaceDocs(
+      InterfaceModel apiInterface, GapicProductConfig productConfig) {
+    List<ViewModel> surfaceDocs = new ArrayList<>();
+    SurfaceNamer namer = surfaceTransformer.createSurfaceNamer(productConfig);
+
+    ImportTypeTable typeTable = surfaceTransformer.createTypeTable(productConfig.getPackageName());
+    InterfaceContext context =
+        surfaceTransformer.createInterfaceContext(apiInterface, productConfig, namer, typeTable);
+    StaticLangFileView<StaticLangApiView> apiFile = generateApiFile(context, productConfig);
+    surfaceDocs.add(apiFile);
+
+    StaticLangApiMethodView exampleApiMethod =
+        getExampleApiMethod(apiFile.classView().apiMethods());
+
+    context = context.withNewTypeTable(namer.getStubPackageName());
+    StaticLangFileView<StaticLangStubSettingsView> stubSettingsFile =
+        generateStubSettingsFile(context, productConfig, exampleApiMethod);
+
+    context = context.withNewTypeTable(namer.getRootPackageName());
+    StaticLangFileView<StaticLangSettingsView> settingsFile =
+        generateSettingsFile(
+            context, productConfig, exampleApiMethod, stubSettingsFile.classView());
+    surfaceDocs.add(settingsFile);
+    surfaceDocs.add(stubSettingsFile);
+
+    context = context.withNewTypeTable(namer.getStubPackageName());
+    StaticLangFileView<StaticLangStubInterfaceView> stubInterfaceFile =
+        generateStubInterfaceFile(context, productConfig);
+    surfaceDocs.add(stubInterfaceFile);
+
+    context = context.withNewTypeTable(namer.getStubPackageName());
+    StaticLangFileView<StaticLangRpcStubView> grpcStubFile =
+        generateRpcStubClassFile(context, productConfig);
+    surfaceDocs.add(grpcStubFile);
+    surfaceDocs.add(generateCallableFactoryClassFile(context, productConfig));
+
+    return new InterfaceSurfaceDocs(surfaceDocs, apiFile.classView().doc());
+  }
+
+  /** The files generated for a single interface, and the service doc for its package-info. */
+  private static class InterfaceSurfaceDocs {
+    private final List<ViewModel> surfaceDocs;
+    private final ServiceDocView serviceDoc;
+
+    private InterfaceSurfaceDocs(List<ViewModel> surfaceDocs, ServiceDocView serviceDoc) {
+      this.surfaceDocs = surfaceDocs;
+      this.serviceDoc = serviceDoc;
+    }
+  }
+
   private StaticLangFileView<StaticLangApiView> generateApiFile(
       InterfaceContext context, GapicProductConfig productConfig) {
     StaticLangFileView.Builder<StaticLangApiView> apiFile = StaticLangFileView.newBuilder();
@@ -28,6 +28,7 @@ import com.google.api.codegen.transformer.FileHeaderTransformer;
 import com.google.api.codegen.transformer.InitCodeTransformer;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.transformer.ModelTypeTable;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.SampleFileRegistry;
 import com.google.api.codegen.transformer.SampleTransformer;
 import com.google.api.codegen.transformer.SurfaceNamer;
@@ -39,6 +40,7 @@ import com.google.api.codegen.viewmodel.ViewModel;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.ImmutableList;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -65,11 +67,20 @@ public class NodeJSGapicSamplesTransformer implements ModelToViewTransformer<Pro
   private final NodeJSMethodViewGenerator methodGenerator =
       new NodeJSMethodViewGenerator(apiMethodTransformer);
   private final PackageMetadataConfig packageConfig;
+  private final ParallelTransformation parallelTransformation;
 
   public NodeJSGapicSamplesTransformer(
       GapicCodePathMapper pathMapper, PackageMetadataConfig packageConfig) {
+    this(pathMapper, packageConfig, ParallelTransformation.sequential());
+  }
+
+  public NodeJSGapicSamplesTransformer(
+      GapicCodePathMapper pathMapper,
+      PackageMetadataConfig packageConfig,
+      ParallelTransformation parallelTransformation) {
     this.pathMapper = pathMapper;
     this.packageConfig = packageConfig;
+    this.parallelTransformation = parallelTransformation;
   }
 
   @Override
@@ -86,15 +97,24 @@ public class NodeJSGapicSamplesTransformer implements ModelToViewTransformer<Pro
 
   private List<ViewModel> generateSampleClassesForModel(
       ApiModel model, GapicProductConfig productConfig) {
-    ImmutableList.Builder<ViewModel> models = ImmutableList.builder();
-    Iterable<? extends InterfaceModel> interfaces = model.getInterfaces(productConfig);
-    for (InterfaceModel apiInterface : interfaces) {
-      if (!productConfig.hasInterfaceConfig(apiInterface)) {
-        continue;
+    List<InterfaceModel> apiInterfaces = new ArrayList<>();
+    for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
+      if (productConfig.hasInterfaceConfig(apiInterface)) {
+        apiInterfaces.add(apiInterface);
       }
+    }
+
+    // Each interface has its own context, so its samples can be generated concurrently.
+    List<List<ViewModel>> interfaceModels =
+        parallelTransformation.transform(
+            apiInterfaces,
+            apiInterface ->
+                generateSampleClasses(
+                    createContext(apiInterface, productConfig), model.hasMultipleServices()));
 
-      GapicInterfaceContext context = createContext(apiInterface, productConfig);
-      models.addAll(generateSampleClasses(context, model.hasMultipleServices()));
+    ImmutableList.Builder<ViewModel> models = ImmutableList.builder();
+    for (List<ViewModel> viewModels : interfaceModels) {
+      models.addAll(viewModels);
     }
     return models.build();
   }
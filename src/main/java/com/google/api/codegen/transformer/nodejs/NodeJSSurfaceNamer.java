@@ -37,6 +37,7 @@ import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.transformer.Synchronicity;
 import com.google.api.codegen.transformer.TransformationContext;
 import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.VersionMatcher;
 import com.google.api.codegen.util.js.JSCommentReformatter;
@@ -249,8 +250,8 @@ public class NodeJSSurfaceNamer extends SurfaceNamer {
 
   @Override
   public String getParamDocText(String paramName, String paramTypeName, String text) {
-    return String.format(
-        "@param %s {%s} %s", paramName, paramTypeName, getCommentReformatter().reformat(text));
+    String docText = DocCommentCache.reformat(getCommentReformatter(), text);
+    return String.format("@param %s {%s} %s", paramName, paramTypeName, docText);
   }
 
   /** Return JSDoc callback comment and return type comment for the given method. */
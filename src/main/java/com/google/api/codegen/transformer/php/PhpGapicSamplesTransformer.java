@@ -30,6 +30,7 @@ import com.google.api.codegen.transformer.FileHeaderTransformer;
 import com.google.api.codegen.transformer.InitCodeTransformer;
 import com.google.api.codegen.transformer.ModelToViewTransformer;
 import com.google.api.codegen.transformer.ModelTypeTable;
+import com.google.api.codegen.transformer.ParallelTransformation;
 import com.google.api.codegen.transformer.SampleFileRegistry;
 import com.google.api.codegen.transformer.SampleTransformer;
 import com.google.api.codegen.transformer.StandardSampleImportTransformer;
@@ -44,6 +45,7 @@ import com.google.common.base.CaseFormat;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -67,11 +69,20 @@ public class PhpGapicSamplesTransformer implements ModelToViewTransformer<ProtoA
   private final PhpMethodViewGenerator methodGenerator =
       new PhpMethodViewGenerator(apiMethodTransformer);
   private final PackageMetadataConfig packageConfig;
+  private final ParallelTransformation parallelTransformation;
 
   public PhpGapicSamplesTransformer(
       GapicCodePathMapper pathMapper, PackageMetadataConfig packageConfig) {
+    this(pathMapper, packageConfig, ParallelTransformation.sequential());
+  }
+
+  public PhpGapicSamplesTransformer(
+      GapicCodePathMapper pathMapper,
+      PackageMetadataConfig packageConfig,
+      ParallelTransformation parallelTransformation) {
     this.pathMapper = pathMapper;
     this.packageConfig = packageConfig;
+    this.parallelTransformation = parallelTransformation;
   }
 
   @Override
@@ -81,14 +92,22 @@ public class PhpGapicSamplesTransformer implements ModelToViewTransformer<ProtoA
 
   @Override
   public List<ViewModel> transform(ProtoApiModel model, GapicProductConfig productConfig) {
-    ImmutableList.Builder<ViewModel> models = ImmutableList.builder();
+    List<InterfaceModel> apiInterfaces = new ArrayList<>();
     for (InterfaceModel apiInterface : model.getInterfaces(productConfig)) {
-      if (!productConfig.hasInterfaceConfig(apiInterface)) {
-        continue;
+      if (productConfig.hasInterfaceConfig(apiInterface)) {
+        apiInterfaces.add(apiInterface);
       }
+    }
+
+    // Each interface has its own context, so its samples can be generated concurrently.
+    List<List<ViewModel>> interfaceModels =
+        parallelTransformation.transform(
+            apiInterfaces,
+            apiInterface -> generateSamples(createContext(apiInterface, productConfig)));
 
-      GapicInterfaceContext context = createContext(apiInterface, productConfig);
-      models.addAll(generateSamples(context));
+    ImmutableList.Builder<ViewModel> models = ImmutableList.builder();
+    for (List<ViewModel> viewModels : interfaceModels) {
+      models.addAll(viewModels);
     }
     return models.build();
   }
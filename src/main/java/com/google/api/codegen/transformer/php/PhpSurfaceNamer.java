@@ -30,6 +30,7 @@ import com.google.api.codegen.transformer.ImportTypeTable;
 import com.google.api.codegen.transformer.ModelTypeFormatterImpl;
 import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.NamePath;
 import com.google.api.codegen.util.php.PhpCommentReformatter;
@@ -274,8 +275,8 @@ public class PhpSurfaceNamer extends SurfaceNamer {
   }
 
   public String getParamDocText(String paramName, String paramTypeName, String text) {
-    return String.format(
-        "@param %s $%s %s", paramTypeName, paramName, getCommentReformatter().reformat(text));
+    String docText = DocCommentCache.reformat(getCommentReformatter(), text);
+    return String.format("@param %s $%s %s", paramTypeName, paramName, docText);
   }
 
   @Override
@@ -36,6 +36,7 @@ import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.transformer.Synchronicity;
 import com.google.api.codegen.transformer.TransformationContext;
 import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.SymbolTable;
 import com.google.api.codegen.util.TypeName;
@@ -282,7 +283,8 @@ public class PythonSurfaceNamer extends SurfaceNamer {
 
   @Override
   public String getParamDocText(String paramName, String paramTypeName, String text) {
-    return String.format("%s %s", paramName, getCommentReformatter().reformat(text));
+    String docText = DocCommentCache.reformat(getCommentReformatter(), text);
+    return String.format("%s %s", paramName, docText);
   }
 
   @Override
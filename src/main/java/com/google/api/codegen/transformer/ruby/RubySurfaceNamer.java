@@ -35,6 +35,7 @@ import com.google.api.codegen.transformer.SurfaceNamer;
 import com.google.api.codegen.transformer.Synchronicity;
 import com.google.api.codegen.transformer.TransformationContext;
 import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.DocCommentCache;
 import com.google.api.codegen.util.Name;
 import com.google.api.codegen.util.NamePath;
 import com.google.api.codegen.util.TypeName;
@@ -550,7 +551,7 @@ public class RubySurfaceNamer extends SurfaceNamer {
   }
 
   public String getParamDocText(String paramName, String paramTypeName, String text) {
-    return String.format(
-        "@param %s {%s} %s", paramName, paramTypeName, getCommentReformatter().reformat(text));
+    String docText = DocCommentCache.reformat(getCommentReformatter(), text);
+    return String.format("@param %s {%s} %s", paramName, paramTypeName, docText);
   }
 }
@@ -14,6 +14,12 @@
  */
 package com.google.api.codegen.util;
 
+/**
+ * Reformats comments for a language.
+ *
+ * <p>Results are cached per implementation class by {@link DocCommentCache}, so the result of
+ * {@link #reformat} must only depend on the given comment.
+ */
 public interface CommentReformatter {
   /** Reformats the given comment to match a language comment format */
   String reformat(String comment);
@@ -15,9 +15,13 @@
 package com.google.api.codegen.util;
 
 import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 public class CommentTransformer {
 
@@ -25,17 +29,35 @@ public class CommentTransformer {
 
   private ImmutableList<Transformation> transformations;
 
-  private CommentTransformer(ImmutableList<Transformation> transformations) {
+  @Nullable private final SinglePass singlePass;
+
+  private CommentTransformer(
+      ImmutableList<Transformation> transformations, @Nullable SinglePass singlePass) {
     this.transformations = transformations;
+    this.singlePass = singlePass;
   }
 
   public String transform(String comment) {
+    if (singlePass != null) {
+      StringBuilder output = new StringBuilder(comment.length());
+      singlePass.transform(comment, output);
+      return output.toString();
+    }
     for (Transformation transformation : transformations) {
       comment = transformation.apply(comment);
     }
     return comment;
   }
 
+  /** Appends the transformed comment to output. */
+  public void transform(String comment, StringBuilder output) {
+    if (singlePass != null) {
+      singlePass.transform(comment, output);
+    } else {
+      output.append(transform(comment));
+    }
+  }
+
   public static Builder newBuilder() {
     return new Builder();
   }
@@ -60,8 +82,28 @@ public class CommentTransformer {
       return this;
     }
 
+    /** Builds a transformer that applies each transformation to the whole comment in turn. */
     public CommentTransformer build() {
-      return new CommentTransformer(transformations.build());
+      return new CommentTransformer(transformations.build(), null);
+    }
+
+    /**
+     * Builds a transformer that finds the matches of all transformations in a single scan of the
+     * comment, and writes the output to a single buffer.
+     *
+     * <p>At each position, the leftmost match wins, and ties go to the transformation added first.
+     * The replacement of a match is transformed by the transformations added after it, as it would
+     * be by the transformer returned by {@link #build}. The output is the same as the one of {@link
+     * #build} as long as no transformation matches inside the match of a transformation added after
+     * it, and no replacement forms a new match with the text around it; transformations should be
+     * added in that order, e.g. links before the escapes of their text.
+     *
+     * <p>The patterns of the transformations must not use back references, since their groups are
+     * renumbered in the combined pattern.
+     */
+    public CommentTransformer buildSinglePass() {
+      ImmutableList<Transformation> transformations = this.transformations.build();
+      return new CommentTransformer(transformations, SinglePass.compile(transformations));
     }
   }
 
@@ -84,4 +126,157 @@ public class CommentTransformer {
       return sb.toString();
     }
   }
+
+  /**
+   * Matches the patterns of a list of transformations as the alternatives of a single pattern, in
+   * which each pattern is wrapped in a group.
+   */
+  private static class SinglePass {
+    private final ImmutableList<Transformation> transformations;
+    private final Pattern pattern;
+    // The index of the group wrapping the pattern of each transformation.
+    private final int[] groupIndexes;
+    private final int[] groupCounts;
+    // Transforms the replacements of each transformation, or null for the last one.
+    private final SinglePass[] rest;
+
+    private SinglePass(List<Transformation> transformations, SinglePass[] rest) {
+      this.transformations = ImmutableList.copyOf(transformations);
+      this.groupIndexes = new int[transformations.size()];
+      this.groupCounts = new int[transformations.size()];
+      this.rest = rest;
+
+      StringBuilder regex = new StringBuilder();
+      int groupIndex = 1;
+      for (int i = 0; i < transformations.size(); i++) {
+        Pattern pattern = transformations.get(i).pattern;
+        Preconditions.checkArgument(
+            (pattern.flags() & (Pattern.LITERAL | Pattern.CANON_EQ | Pattern.COMMENTS)) == 0,
+            "Pattern flags of %s cannot be combined",
+            pattern);
+        groupIndexes[i] = groupIndex;
+        groupCounts[i] = pattern.matcher("").groupCount();
+        groupIndex += groupCounts[i] + 1;
+        if (i > 0) {
+          regex.append('|');
+        }
+        regex.append("((?").append(inlineFlags(pattern.flags())).append(':');
+        regex.append(pattern.pattern()).append("))");
+      }
+      this.pattern = Pattern.compile(regex.toString());
+    }
+
+    private static SinglePass compile(List<Transformation> transformations) {
+      // engines[k] transforms with transformations k..n-1, and is shared by the engines before it.
+      int n = transformations.size();
+      SinglePass[] engines = new SinglePass[n + 1];
+      for (int k = n - 1; k >= 0; k--) {
+        engines[k] =
+            new SinglePass(
+                transformations.subList(k, n), Arrays.copyOfRange(engines, k + 1, n + 1));
+      }
+      return n == 0 ? new SinglePass(transformations, engines) : engines[0];
+    }
+
+    private void transform(String comment, StringBuilder output) {
+      if (transformations.isEmpty()) {
+        output.append(comment);
+        return;
+      }
+      Matcher m = pattern.matcher(comment);
+      int last = 0;
+      while (m.find()) {
+        int i = matchedTransformation(m);
+        output.append(comment, last, m.start());
+        String replacement =
+            transformations.get(i).replacementFunction.apply(m.group(groupIndexes[i]));
+        if (rest[i] == null) {
+          appendReplacement(output, replacement, m, i);
+        } else {
+          StringBuilder replaced = new StringBuilder(replacement.length());
+          appendReplacement(replaced, replacement, m, i);
+          rest[i].transform(replaced.toString(), output);
+        }
+        last = m.end();
+      }
+      output.append(comment, last, comment.length());
+    }
+
+    private int matchedTransformation(Matcher m) {
+      for (int i = 0; i < groupIndexes.length; i++) {
+        if (m.start(groupIndexes[i]) != -1) {
+          return i;
+        }
+      }
+      throw new IllegalStateException("No alternative matched in " + pattern);
+    }
+
+    /**
+     * Appends the replacement with the semantics of {@link Matcher#appendReplacement}, resolving
+     * group references against the groups of the matched transformation.
+     */
+    private void appendReplacement(
+        StringBuilder output, String replacement, Matcher m, int transformation) {
+      for (int i = 0; i < replacement.length(); i++) {
+        char c = replacement.charAt(i);
+        if (c == '\\') {
+          i++;
+          if (i == replacement.length()) {
+            throw new IllegalArgumentException("character to be escaped is missing");
+          }
+          output.append(replacement.charAt(i));
+        } else if (c == '$') {
+          i++;
+          if (i == replacement.length()) {
+            throw new IllegalArgumentException("Illegal group reference: group index is missing");
+          }
+          int group = replacement.charAt(i) - '0';
+          if (group < 0 || group > 9) {
+            throw new IllegalArgumentException("Illegal group reference: " + replacement);
+          }
+          if (group > groupCounts[transformation]) {
+            throw new IndexOutOfBoundsException("No group " + group);
+          }
+          // Like Matcher, take more digits as long as they form an existing group.
+          while (i + 1 < replacement.length()) {
+            int digit = replacement.charAt(i + 1) - '0';
+            if (digit < 0 || digit > 9 || group * 10 + digit > groupCounts[transformation]) {
+              break;
+            }
+            group = group * 10 + digit;
+            i++;
+          }
+          String value = m.group(groupIndexes[transformation] + group);
+          if (value != null) {
+            output.append(value);
+          }
+        } else {
+          output.append(c);
+        }
+      }
+    }
+
+    private static String inlineFlags(int flags) {
+      StringBuilder inline = new StringBuilder();
+      if ((flags & Pattern.UNIX_LINES) != 0) {
+        inline.append('d');
+      }
+      if ((flags & Pattern.CASE_INSENSITIVE) != 0) {
+        inline.append('i');
+      }
+      if ((flags & Pattern.MULTILINE) != 0) {
+        inline.append('m');
+      }
+      if ((flags & Pattern.DOTALL) != 0) {
+        inline.append('s');
+      }
+      if ((flags & Pattern.UNICODE_CASE) != 0) {
+        inline.append('u');
+      }
+      if ((flags & Pattern.UNICODE_CHARACTER_CLASS) != 0) {
+        inline.append('U');
+      }
+      return inline.toString();
+    }
+  }
 }
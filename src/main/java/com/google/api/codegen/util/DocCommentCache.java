@@ -0,0 +1,159 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache of reformatted doc comments and of their doc lines.
+ *
+ * <p>The same proto comments are rendered for many files of a client library, and for several
+ * languages in one run. Since a {@link CommentReformatter} only depends on the comment it is given,
+ * results are keyed by the class of the reformatter, the raw comment and the wrap width, and are
+ * shared by all reformatter instances of a class.
+ */
+public class DocCommentCache {
+  private static final int MAXIMUM_SIZE = 50_000;
+
+  // Wrap width of unwrapped doc lines, and of reformatted comments.
+  private static final int NO_WRAP = -1;
+
+  private static final Cache<Key, String> REFORMATTED_COMMENTS = newCache();
+  private static final Cache<Key, List<String>> DOC_LINES = newCache();
+
+  private DocCommentCache() {}
+
+  /** Returns the comment reformatted by the given reformatter. */
+  public static String reformat(CommentReformatter reformatter, String comment) {
+    if (comment == null) {
+      return reformatter.reformat(comment);
+    }
+    return get(
+        REFORMATTED_COMMENTS,
+        new Key(reformatter.getClass(), comment, NO_WRAP),
+        () -> reformatter.reformat(comment));
+  }
+
+  /** Returns the doc lines of the comment reformatted by the given reformatter. */
+  public static List<String> getDocLines(CommentReformatter reformatter, String comment) {
+    if (comment == null) {
+      return CommonRenderingUtil.getDocLines(reformatter.reformat(comment));
+    }
+    return get(
+        DOC_LINES,
+        new Key(reformatter.getClass(), comment, NO_WRAP),
+        () -> {
+          String text = reformat(reformatter, comment);
+          return ImmutableList.copyOf(CommonRenderingUtil.getDocLines(text));
+        });
+  }
+
+  /**
+   * Returns the doc lines of the comment wrapped at maxWidth, after reformatting it with the given
+   * reformatter if it is not null.
+   */
+  public static List<String> getWrappedDocLines(
+      @Nullable CommentReformatter reformatter, String comment, int maxWidth) {
+    if (comment == null) {
+      String text = reformatter == null ? comment : reformatter.reformat(comment);
+      return CommonRenderingUtil.getDocLines(text, maxWidth);
+    }
+    return get(
+        DOC_LINES,
+        new Key(reformatter == null ? null : reformatter.getClass(), comment, maxWidth),
+        () -> {
+          String text = reformatter == null ? comment : reformat(reformatter, comment);
+          return ImmutableList.copyOf(CommonRenderingUtil.getDocLines(text, maxWidth));
+        });
+  }
+
+  /** Returns the statistics of the reformatted comments, including their hit ratio. */
+  public static CacheStats reformattedCommentStats() {
+    return REFORMATTED_COMMENTS.stats();
+  }
+
+  /** Returns the statistics of the doc lines, including their hit ratio. */
+  public static CacheStats docLineStats() {
+    return DOC_LINES.stats();
+  }
+
+  /** Returns a summary of the hit ratios, e.g. for logging at the end of a run. */
+  public static String describeStats() {
+    return MoreObjects.toStringHelper(DocCommentCache.class)
+        .add("reformattedComments", describe(reformattedCommentStats()))
+        .add("docLines", describe(docLineStats()))
+        .toString();
+  }
+
+  private static String describe(CacheStats stats) {
+    return String.format("%d requests, %.1f%% hits", stats.requestCount(), stats.hitRate() * 100);
+  }
+
+  private static <V> Cache<Key, V> newCache() {
+    return CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).recordStats().build();
+  }
+
+  private static <V> V get(Cache<Key, V> cache, Key key, Callable<V> loader) {
+    try {
+      return cache.get(key, loader);
+    } catch (ExecutionException e) {
+      // Reformatters do not throw checked exceptions.
+      throw new IllegalStateException(e.getCause());
+    } catch (UncheckedExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private static final class Key {
+    @Nullable private final Class<?> reformatterClass;
+    private final String comment;
+    private final int maxWidth;
+
+    private Key(@Nullable Class<?> reformatterClass, String comment, int maxWidth) {
+      this.reformatterClass = reformatterClass;
+      this.comment = comment;
+      this.maxWidth = maxWidth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return reformatterClass == other.reformatterClass
+          && maxWidth == other.maxWidth
+          && comment.equals(other.comment);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(reformatterClass, comment, maxWidth);
+    }
+  }
+}
@@ -36,6 +36,9 @@ import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.api.tools.framework.model.TypeRef;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -44,11 +47,14 @@ import com.google.longrunning.OperationsProto;
 import com.google.protobuf.DescriptorProtos.FieldOptions;
 import com.google.protobuf.DescriptorProtos.FileOptions;
 import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.GeneratedMessage.GeneratedExtension;
 import com.google.protobuf.Message;
 import com.google.protobuf.ProtocolMessageEnum;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +67,14 @@ import javax.annotation.Nullable;
 public class ProtoParser {
   private final boolean enableProtoAnnotations;
 
+  // The option fields of each element, which are immutable once the model is built; weak keys
+  // are compared by identity and released together with the model.
+  private final LoadingCache<ProtoElement, Map<FieldDescriptor, Object>> optionFieldsCache =
+      CacheBuilder.newBuilder().weakKeys().build(CacheLoader.from(ProtoElement::getOptionFields));
+
+  // The index of the Resources and ResourceSets last passed to findResourceOrSetSymbol.
+  @Nullable private volatile ResourceIndex resourceIndex;
+
   public boolean isProtoAnnotationsEnabled() {
     return enableProtoAnnotations;
   }
@@ -76,7 +90,7 @@ public class ProtoParser {
     // Use this method as the chokepoint for all annotations processing, so we can toggle on/off
     // annotations processing in one place.
     if (enableProtoAnnotations) {
-      return (T) element.getOptionFields().get(extension.getDescriptor());
+      return (T) getOptionFields(element).get(extension.getDescriptor());
     } else {
       return null;
     }
@@ -90,12 +104,16 @@ public class ProtoParser {
     // Use this method as the chokepoint for all annotations processing for enum values
     // so we can toggle on/off annotations processing in one place.
     if (enableProtoAnnotations) {
-      return (List<EnumValueDescriptor>) element.getOptionFields().get(extension.getDescriptor());
+      return (List<EnumValueDescriptor>) getOptionFields(element).get(extension.getDescriptor());
     } else {
       return null;
     }
   }
 
+  private Map<FieldDescriptor, Object> getOptionFields(ProtoElement element) {
+    return optionFieldsCache.getUnchecked(element);
+  }
+
   /* Return the name of the field representing the header parameter. */
   public ImmutableSet<String> getHeaderParams(Method method) {
     ImmutableSet.Builder<String> allParams = ImmutableSet.builder();
@@ -179,19 +197,10 @@ public class ProtoParser {
       }
 
       // Look in the given Resource and ResourceSet collections.
-      for (Resource resource : allResources.keySet()) {
-        ProtoFile protoFile = allResources.get(resource);
-        if (getResourceFullName(resource, protoFile).equals(resourceName)
-            || field.getFile().equals(protoFile) && resource.getSymbol().equals(resourceName)) {
-          return resource.getSymbol();
-        }
-      }
-      for (ResourceSet resourceSet : allResourceSets.keySet()) {
-        ProtoFile protoFile = allResourceSets.get(resourceSet);
-        if (getResourceSetFullName(resourceSet, protoFile).equals(resourceName)
-            || field.getFile().equals(protoFile) && resourceSet.getSymbol().equals(resourceName)) {
-          return resourceSet.getSymbol();
-        }
+      String symbol =
+          findResourceOrSetSymbol(resourceName, field.getFile(), allResources, allResourceSets);
+      if (symbol != null) {
+        return symbol;
       }
 
       return resourceType.getMessageType().getSimpleName();
@@ -200,6 +209,97 @@ public class ProtoParser {
     return null;
   }
 
+  /**
+   * Returns the symbol of the first Resource, or else of the first ResourceSet, which either has
+   * the given full name or is defined in the given file with the given symbol. This is the same
+   * result as scanning the Resources and then the ResourceSets in order, but uses an index of the
+   * collections. Returns null if there is no match.
+   */
+  @VisibleForTesting
+  @Nullable
+  String findResourceOrSetSymbol(
+      String resourceName,
+      ProtoFile file,
+      Map<Resource, ProtoFile> allResources,
+      Map<ResourceSet, ProtoFile> allResourceSets) {
+    ResourceIndex index = getResourceIndex(allResources, allResourceSets);
+    String symbol = index.resources.find(resourceName, file);
+    return symbol != null ? symbol : index.resourceSets.find(resourceName, file);
+  }
+
+  /**
+   * Returns the index of the given Resources and ResourceSets. The index is built once and reused
+   * for as long as the same collections are passed in, which they are for all fields of a model.
+   */
+  private ResourceIndex getResourceIndex(
+      Map<Resource, ProtoFile> allResources, Map<ResourceSet, ProtoFile> allResourceSets) {
+    ResourceIndex index = resourceIndex;
+    if (index == null
+        || index.allResources != allResources
+        || index.allResourceSets != allResourceSets) {
+      index = new ResourceIndex(allResources, allResourceSets);
+      resourceIndex = index;
+    }
+    return index;
+  }
+
+  /** The symbol indexes of one Resource collection and one ResourceSet collection. */
+  private class ResourceIndex {
+    private final Map<Resource, ProtoFile> allResources;
+    private final Map<ResourceSet, ProtoFile> allResourceSets;
+    private final SymbolIndex resources = new SymbolIndex();
+    private final SymbolIndex resourceSets = new SymbolIndex();
+
+    private ResourceIndex(
+        Map<Resource, ProtoFile> allResources, Map<ResourceSet, ProtoFile> allResourceSets) {
+      this.allResources = allResources;
+      this.allResourceSets = allResourceSets;
+      for (Map.Entry<Resource, ProtoFile> entry : allResources.entrySet()) {
+        Resource resource = entry.getKey();
+        resources.add(
+            resource.getSymbol(),
+            getResourceFullName(resource, entry.getValue()),
+            entry.getValue());
+      }
+      for (Map.Entry<ResourceSet, ProtoFile> entry : allResourceSets.entrySet()) {
+        ResourceSet resourceSet = entry.getKey();
+        resourceSets.add(
+            resourceSet.getSymbol(),
+            getResourceSetFullName(resourceSet, entry.getValue()),
+            entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * The symbols of one collection in their order, with the position of the first definition of each
+   * full name, and of each symbol within the file defining it.
+   */
+  private static class SymbolIndex {
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<String, Integer> fullNamePositions = new HashMap<>();
+    private final Map<ProtoFile, Map<String, Integer>> localPositions = new HashMap<>();
+
+    private void add(String symbol, String fullName, ProtoFile file) {
+      int position = symbols.size();
+      symbols.add(symbol);
+      fullNamePositions.putIfAbsent(fullName, position);
+      localPositions.computeIfAbsent(file, f -> new HashMap<>()).putIfAbsent(symbol, position);
+    }
+
+    /** Returns the symbol of the first definition matching by full name or within the file. */
+    @Nullable
+    private String find(String name, ProtoFile file) {
+      Integer position = fullNamePositions.get(name);
+      Map<String, Integer> filePositions = localPositions.get(file);
+      Integer localPosition = filePositions == null ? null : filePositions.get(name);
+      if (position == null || (localPosition != null && localPosition < position)) {
+        position = localPosition;
+      }
+      return position == null ? null : symbols.get(position);
+    }
+  }
+
   public String getResourceOrSetEntityName(Field field) {
     if (getResource(field) != null) {
       return getResourceEntityName(field);
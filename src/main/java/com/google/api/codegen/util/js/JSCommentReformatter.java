@@ -34,7 +34,7 @@ public class JSCommentReformatter implements CommentReformatter {
                   .withUrlPrefix(CommentTransformer.CLOUD_URL_PREFIX)
                   .toFormat("[$TITLE]($URL)"))
           .replace(CLOSE_COMMENT_PATTERN, "* /")
-          .build();
+          .buildSinglePass();
 
   @Override
   public String reformat(String comment) {
@@ -35,15 +35,16 @@ public class PhpCommentReformatter implements CommentReformatter {
               .append(")")
               .toString());
 
+  // Links come first, so that the escapes also apply to the formatted links.
   private CommentTransformer transformer =
       CommentTransformer.newBuilder()
-          .replace(CLOSE_COMMENT_PATTERN, "&#42;/")
-          .replace(AT_SYMBOL_PATTERN, "&#64;")
           .transform(
               LinkPattern.RELATIVE
                   .withUrlPrefix(CommentTransformer.CLOUD_URL_PREFIX)
                   .toFormat("[$TITLE]($URL)"))
-          .build();
+          .replace(CLOSE_COMMENT_PATTERN, "&#42;/")
+          .replace(AT_SYMBOL_PATTERN, "&#64;")
+          .buildSinglePass();
 
   @Override
   public String reformat(String comment) {
@@ -56,22 +56,20 @@ public class RubyCommentReformatter implements CommentReformatter {
                   .toFormat("[$TITLE]($URL)"))
           .transform(LinkPattern.ABSOLUTE.toFormat("[$TITLE]($URL)"))
           .scopedReplace(CommentPatterns.HEADLINE_PATTERN, "#", "=")
-          .build();
+          .buildSinglePass();
 
   @Override
   public String reformat(String comment) {
-    StringBuffer sb = new StringBuffer();
+    StringBuilder sb = new StringBuilder(comment.length());
     int listIndent = 0;
     boolean followsListItem = false;
     boolean followsBlankLine = false;
     for (String line : Splitter.on("\n").split(comment)) {
-      Matcher listMatcher = CommentPatterns.UNORDERED_LIST_PATTERN.matcher(line);
-      boolean matchesList = listMatcher.lookingAt();
-      Matcher indentMatcher = CommentPatterns.INDENT_PATTERN.matcher(line);
-      indentMatcher.lookingAt();
-      int indent = indentMatcher.group().length();
+      int indent = indentLength(line);
+      int listMarkerEnd = listMarkerEnd(line, indent);
+      boolean matchesList = listMarkerEnd != -1;
       if (matchesList) {
-        line = listMatcher.replaceFirst(BULLET);
+        line = BULLET + line.substring(listMarkerEnd);
       }
       if (indent < listIndent && (matchesList || followsBlankLine)) {
         listIndent -= BULLET.length();
@@ -82,13 +80,45 @@ public class RubyCommentReformatter implements CommentReformatter {
         line = line.trim();
         sb.append(Strings.repeat(" ", listIndent));
       }
-      sb.append(transformer.transform(line)).append("\n");
+      transformer.transform(line, sb);
+      sb.append("\n");
       followsListItem = matchesList;
       followsBlankLine = line.isEmpty();
     }
     return sb.toString().trim();
   }
 
+  /** Returns the length of the leading whitespace of the line, as matched by INDENT_PATTERN. */
+  private static int indentLength(String line) {
+    int i = 0;
+    while (i < line.length() && isWhitespace(line.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Returns the end of the list marker and of the whitespace after it, as matched by
+   * UNORDERED_LIST_PATTERN, or -1 if the line is not a list item.
+   */
+  private static int listMarkerEnd(String line, int indent) {
+    if (indent + 1 >= line.length()
+        || "*+-".indexOf(line.charAt(indent)) == -1
+        || !isWhitespace(line.charAt(indent + 1))) {
+      return -1;
+    }
+    int i = indent + 2;
+    while (i < line.length() && isWhitespace(line.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /** Matches the characters of the {@code \s} character class. */
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
   private static String protoToRubyDoc(String comment) {
     return protoToRubyDoc(comment, true);
   }
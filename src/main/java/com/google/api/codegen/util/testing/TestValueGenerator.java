@@ -16,6 +16,8 @@ package com.google.api.codegen.util.testing;
 
 import com.google.api.codegen.config.TypeModel;
 import com.google.api.codegen.util.Name;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
 import java.util.HashMap;
 
 /**
@@ -26,6 +28,8 @@ import java.util.HashMap;
  */
 public class TestValueGenerator {
   private final HashMap<Name, String> valueTable = new HashMap<>();
+  // The values of valueTable with their number of occurrences, for constant-time collision checks.
+  private final Multiset<String> values = HashMultiset.create();
   private final ValueProducer producer;
 
   public TestValueGenerator(ValueProducer producer) {
@@ -35,12 +39,18 @@ public class TestValueGenerator {
   public String getAndStoreValue(TypeModel type, Name identifier) {
     if (!valueTable.containsKey(identifier)) {
       String value = producer.produce(type, identifier);
-      while (type.getPrimitiveTypeName() != "bool" && valueTable.containsValue(value)) {
+      boolean isBool = "bool".equals(type.getPrimitiveTypeName());
+      while (!isBool && values.contains(value)) {
         // If the value already exists regenerate using a deterministically different identifier.
         identifier = identifier.join("1");
         value = producer.produce(type, identifier);
       }
-      valueTable.put(identifier, value);
+      String previousValue = valueTable.put(identifier, value);
+      if (previousValue != null) {
+        // The regenerated identifier was already in use, and its value is replaced.
+        values.remove(previousValue);
+      }
+      values.add(value);
     }
     return valueTable.get(identifier);
   }
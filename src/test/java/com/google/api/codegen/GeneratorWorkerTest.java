@@ -0,0 +1,105 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.worker.WorkRequest;
+import com.google.api.codegen.worker.WorkResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GeneratorWorkerTest {
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void testServesRequestsUntilInputCloses() throws Exception {
+    ByteArrayOutputStream requests = new ByteArrayOutputStream();
+    WorkRequest.newBuilder().build().writeDelimitedTo(requests);
+    WorkRequest.newBuilder()
+        .addArguments("not_an_artifact_type")
+        .build()
+        .writeDelimitedTo(requests);
+
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    PrintStream systemOut = System.out;
+    new GeneratorWorker(
+            new ByteArrayInputStream(requests.toByteArray()),
+            new PrintStream(responses),
+            new PrintStream(new ByteArrayOutputStream()))
+        .run();
+
+    assertThat(System.out).isSameAs(systemOut);
+    ByteArrayInputStream responseStream = new ByteArrayInputStream(responses.toByteArray());
+    WorkResponse first = WorkResponse.parseDelimitedFrom(responseStream);
+    WorkResponse second = WorkResponse.parseDelimitedFrom(responseStream);
+    assertThat(WorkResponse.parseDelimitedFrom(responseStream)).isNull();
+
+    assertThat(first.getExitCode()).isEqualTo(1);
+    assertThat(first.getOutput()).contains("No artifact type given!");
+    assertThat(second.getExitCode()).isEqualTo(1);
+    assertThat(second.getOutput()).contains("Unrecognized artifact type: 'not_an_artifact_type'");
+  }
+
+  @Test
+  public void testRepliesToRequestsFailingWithErrors() throws Exception {
+    ByteArrayOutputStream requests = new ByteArrayOutputStream();
+    WorkRequest.newBuilder().addArguments("first").build().writeDelimitedTo(requests);
+    WorkRequest.newBuilder().addArguments("second").build().writeDelimitedTo(requests);
+
+    ByteArrayOutputStream responses = new ByteArrayOutputStream();
+    new GeneratorWorker(
+            new ByteArrayInputStream(requests.toByteArray()),
+            new PrintStream(responses),
+            new PrintStream(new ByteArrayOutputStream()),
+            args -> {
+              throw new StackOverflowError(args[0]);
+            })
+        .run();
+
+    ByteArrayInputStream responseStream = new ByteArrayInputStream(responses.toByteArray());
+    WorkResponse first = WorkResponse.parseDelimitedFrom(responseStream);
+    WorkResponse second = WorkResponse.parseDelimitedFrom(responseStream);
+    assertThat(WorkResponse.parseDelimitedFrom(responseStream)).isNull();
+
+    assertThat(first.getExitCode()).isEqualTo(1);
+    assertThat(first.getOutput()).contains("StackOverflowError: first");
+    assertThat(second.getExitCode()).isEqualTo(1);
+    assertThat(second.getOutput()).contains("StackOverflowError: second");
+  }
+
+  @Test
+  public void testExpandParamFiles() throws Exception {
+    File paramsFile = tempDir.newFile("params");
+    Files.write(
+        paramsFile.toPath(),
+        "GAPIC_CODE\n--language=java\n\n--output=out.srcjar\n".getBytes(StandardCharsets.UTF_8));
+
+    String[] args =
+        GeneratorMain.expandParamFiles(new String[] {"@" + paramsFile.getPath(), "--dev_samples"});
+
+    assertThat(Arrays.asList(args))
+        .containsExactly("GAPIC_CODE", "--language=java", "--output=out.srcjar", "--dev_samples")
+        .inOrder();
+  }
+}
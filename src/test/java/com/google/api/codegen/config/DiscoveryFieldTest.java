@@ -0,0 +1,48 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.discogapic.DocumentGenerator;
+import com.google.api.codegen.discovery.Document;
+import com.google.api.codegen.discovery.Schema;
+import java.io.IOException;
+import java.nio.file.Paths;
+import org.junit.Test;
+
+public class DiscoveryFieldTest {
+  private static final String SIMPLECOMPUTE =
+      "src/test/java/com/google/api/codegen/discogapic/testdata/simplecompute.v1.json";
+
+  @Test
+  public void testFieldsAreInternedPerModel() throws IOException {
+    Document document = DocumentGenerator.readDocument(Paths.get(SIMPLECOMPUTE));
+    Schema address = document.schemas().get("Address");
+    DiscoApiModel model = new DiscoApiModel(document, "com.google.compute.v1");
+
+    DiscoveryField field = DiscoveryField.create(address, model);
+    assertThat(DiscoveryField.create(address, model)).isSameAs(field);
+    for (DiscoveryField property : field.getFields()) {
+      assertThat(DiscoveryField.create(property.getOriginalDiscoveryField(), model))
+          .isSameAs(property);
+    }
+
+    DiscoApiModel otherModel = new DiscoApiModel(document, "com.google.compute.v1");
+    DiscoveryField otherField = DiscoveryField.create(address, otherModel);
+    assertThat(otherField).isNotSameAs(field);
+    assertThat(otherField.getSimpleName()).isEqualTo(field.getSimpleName());
+  }
+}
@@ -55,4 +55,36 @@ public class GapicConfigProducerTest {
     assertThat(model.getDiagReporter().getDiagCollector().hasErrors()).isTrue();
     assertThat(model.getDiagReporter().getDiagCollector().getDiags()).contains(expectedError);
   }
+
+  @Test
+  public void sharedConfigMatchesPerLanguageConfig() {
+    TestDataLocator locator = MixedPathTestDataLocator.create(this.getClass());
+    locator.addTestDataSource(CodegenTestUtil.class, "testsrc/common");
+    model =
+        CodegenTestUtil.readModel(
+            locator, tempDir, new String[] {"library.proto"}, new String[] {"library.yaml"});
+    ConfigProto configProto =
+        CodegenTestUtil.readConfig(
+            model.getDiagReporter().getDiagCollector(),
+            locator,
+            new String[] {"library_gapic.yaml"});
+
+    GapicProductConfig.LanguageIndependentConfig sharedConfig =
+        GapicProductConfig.prepare(model, configProto, null);
+    for (TargetLanguage language : TargetLanguage.values()) {
+      GapicProductConfig expected =
+          GapicProductConfig.create(model, configProto, null, null, language);
+      GapicProductConfig actual = GapicProductConfig.create(sharedConfig, null, language);
+
+      assertThat(actual.getPackageName()).isEqualTo(expected.getPackageName());
+      assertThat(actual.getInterfaceConfigMap().keySet())
+          .containsExactlyElementsIn(expected.getInterfaceConfigMap().keySet())
+          .inOrder();
+      assertThat(actual.getResourceNameConfigs().keySet())
+          .containsExactlyElementsIn(expected.getResourceNameConfigs().keySet())
+          .inOrder();
+      assertThat(actual.getCopyrightLines()).isEqualTo(expected.getCopyrightLines());
+    }
+    assertThat(model.getDiagReporter().getDiagCollector().hasErrors()).isFalse();
+  }
 }
@@ -0,0 +1,135 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.discovery;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.discogapic.DocumentGenerator;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class DocumentTest {
+  private static final String SIMPLECOMPUTE =
+      "src/test/java/com/google/api/codegen/discogapic/testdata/simplecompute.v1.json";
+
+  // Written with the Reader-based parser that readDocument replaced.
+  private static final String SIMPLECOMPUTE_BASELINE =
+      "src/test/java/com/google/api/codegen/discovery/testdata/simplecompute_document.baseline";
+
+  @Test
+  public void testReadDocumentMatchesBaseline() throws IOException {
+    Document document = DocumentGenerator.readDocument(Paths.get(SIMPLECOMPUTE));
+
+    String baseline =
+        new String(Files.readAllBytes(Paths.get(SIMPLECOMPUTE_BASELINE)), StandardCharsets.UTF_8);
+    assertThat(describe(document)).isEqualTo(baseline);
+  }
+
+  @Test
+  public void testResourceMethodsAreSharedWithMethods() throws IOException {
+    Document document = DocumentGenerator.readDocument(Paths.get(SIMPLECOMPUTE));
+
+    assertThat(document.resources()).isNotEmpty();
+    for (List<Method> resourceMethods : document.resources().values()) {
+      for (Method method : resourceMethods) {
+        assertThat(document.methods()).contains(method);
+        assertThat(method.parent()).isSameAs(document);
+      }
+    }
+  }
+
+  @Test
+  public void testMethodById() throws IOException {
+    Document document = DocumentGenerator.readDocument(Paths.get(SIMPLECOMPUTE));
+
+    for (Method method : document.methods()) {
+      assertThat(document.methodById(method.id())).isSameAs(method);
+    }
+    assertThat(document.methodById("compute.unknown.get")).isNull();
+  }
+
+  /** Describes every field of the document, its methods and its schemas, one per line. */
+  private static String describe(Document document) {
+    StringBuilder out = new StringBuilder();
+    out.append("document ").append(document.id()).append('\n');
+    out.append("  name: ").append(document.name()).append('\n');
+    out.append("  version: ").append(document.version()).append('\n');
+    out.append("  revision: ").append(document.revision()).append('\n');
+    out.append("  title: ").append(document.title()).append('\n');
+    out.append("  canonicalName: ").append(document.canonicalName()).append('\n');
+    out.append("  ownerDomain: ").append(document.ownerDomain()).append('\n');
+    out.append("  rootUrl: ").append(document.rootUrl()).append('\n');
+    out.append("  servicePath: ").append(document.servicePath()).append('\n');
+    out.append("  baseUrl: ").append(document.baseUrl()).append('\n');
+    out.append("  authType: ").append(document.authType()).append('\n');
+    out.append("  authScopes: ").append(document.authScopes()).append('\n');
+    out.append("  versionModule: ").append(document.versionModule()).append('\n');
+    for (Method method : document.methods()) {
+      out.append("method ").append(method.id()).append('\n');
+      out.append("  httpMethod: ").append(method.httpMethod()).append('\n');
+      out.append("  path: ").append(method.path()).append('\n');
+      out.append("  flatPath: ").append(method.flatPath()).append('\n');
+      out.append("  scopes: ").append(method.scopes()).append('\n');
+      out.append("  supportsMediaDownload: ").append(method.supportsMediaDownload()).append('\n');
+      out.append("  supportsMediaUpload: ").append(method.supportsMediaUpload()).append('\n');
+      out.append("  pathParams: ").append(method.pathParams().keySet()).append('\n');
+      out.append("  queryParams: ").append(method.queryParams().keySet()).append('\n');
+      for (Schema parameter : method.parameters().values()) {
+        describe(out, "  parameter", parameter, "    ");
+      }
+      describe(out, "  request", method.request(), "    ");
+      describe(out, "  response", method.response(), "    ");
+    }
+    for (Map.Entry<String, List<Method>> resource : document.resources().entrySet()) {
+      out.append("resource ").append(resource.getKey()).append('\n');
+      for (Method method : resource.getValue()) {
+        out.append("  method ").append(method.id()).append('\n');
+      }
+    }
+    for (Schema schema : document.schemas().values()) {
+      describe(out, "schema", schema, "  ");
+    }
+    return out.toString();
+  }
+
+  private static void describe(StringBuilder out, String label, Schema schema, String indent) {
+    if (schema == null) {
+      return;
+    }
+    out.append(indent.substring(2)).append(label).append(' ').append(schema.key()).append('\n');
+    out.append(indent).append("id: ").append(schema.id()).append('\n');
+    out.append(indent).append("type: ").append(schema.type()).append('\n');
+    out.append(indent).append("format: ").append(schema.format()).append('\n');
+    out.append(indent).append("reference: ").append(schema.reference()).append('\n');
+    out.append(indent).append("location: ").append(schema.location()).append('\n');
+    out.append(indent).append("defaultValue: ").append(schema.defaultValue()).append('\n');
+    out.append(indent).append("pattern: ").append(schema.pattern()).append('\n');
+    out.append(indent).append("isEnum: ").append(schema.isEnum()).append('\n');
+    out.append(indent).append("isMap: ").append(schema.isMap()).append('\n');
+    out.append(indent).append("repeated: ").append(schema.repeated()).append('\n');
+    out.append(indent).append("required: ").append(schema.required()).append('\n');
+    out.append(indent).append("description: ").append(schema.description()).append('\n');
+    for (Schema property : schema.properties().values()) {
+      describe(out, "property", property, indent + "  ");
+    }
+    describe(out, "items", schema.items(), indent + "  ");
+    describe(out, "additionalProperties", schema.additionalProperties(), indent + "  ");
+  }
+}
@@ -50,5 +50,59 @@ public class SchemaTest {
     assertThat(appleToDogPath.get(3)).isEqualTo(cat);
     assertThat(appleToDogPath.get(4).getIdentifier()).isEqualTo("items");
     assertThat(appleToDogPath.get(5)).isEqualTo(dog);
+
+    // Paths are memoized once the document is parsed.
+    assertThat(apple.findChild("Dog")).isSameAs(appleToDogPath);
+    assertThat(apple.findChild("Unknown")).isEmpty();
+  }
+
+  @Test
+  public void testDereferenceFromJson() throws IOException {
+    String file = "src/test/java/com/google/api/codegen/discovery/testdata/graph.json";
+    Reader reader = new InputStreamReader(new FileInputStream(new File(file)));
+
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode root = mapper.readTree(reader);
+
+    Document document = Document.from(new DiscoveryNode(root));
+
+    for (Schema schema : document.schemas().values()) {
+      assertThat(schema.dereference()).isSameAs(schema);
+      for (Schema property : schema.properties().values()) {
+        if (!property.reference().isEmpty()) {
+          assertThat(property.dereference()).isSameAs(document.schemas().get(property.reference()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testHashCodeFollowsParent() {
+    Schema schema = objectSchema("Apple");
+    Schema copy = objectSchema("Apple");
+    Schema other = objectSchema("Banana");
+    assertThat(schema).isEqualTo(copy);
+    assertThat(schema.hashCode()).isEqualTo(copy.hashCode());
+    assertThat(schema).isNotEqualTo(other);
+
+    // The cached hash code is recomputed once the schema is attached to a parent.
+    schema.setParent(other);
+    assertThat(schema).isNotEqualTo(copy);
+    copy.setParent(other);
+    assertThat(schema).isEqualTo(copy);
+    assertThat(schema.hashCode()).isEqualTo(copy.hashCode());
+  }
+
+  private static Schema objectSchema(String id) {
+    return Schema.newBuilder()
+        .setFormat(Schema.Format.EMPTY)
+        .setId(id)
+        .setIsEnum(false)
+        .setIsMap(false)
+        .setKey(id)
+        .setRepeated(false)
+        .setRequired(false)
+        .setType(Schema.Type.OBJECT)
+        .build();
   }
 }
@@ -0,0 +1,74 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.ConfigProto;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ConfigSnapshotsTest {
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void testSnapshotRoundTrip() throws Exception {
+    File configFile = writeFile("library_gapic.yaml", "config_schema_version: 1.0.0\n");
+    Path snapshotFile = tempDir.getRoot().toPath().resolve("snapshots/library.snapshot");
+    ConfigProto config =
+        ConfigProto.newBuilder().setConfigSchemaVersion("1.0.0").setLanguage("java").build();
+
+    String fingerprint = ConfigSnapshots.fingerprint(ImmutableList.of(configFile));
+    ConfigSnapshots.write(snapshotFile, fingerprint, config);
+
+    assertThat(ConfigSnapshots.read(snapshotFile, fingerprint)).isEqualTo(config);
+  }
+
+  @Test
+  public void testStaleSnapshotIsIgnored() throws Exception {
+    File configFile = writeFile("library_gapic.yaml", "config_schema_version: 1.0.0\n");
+    Path snapshotFile = tempDir.getRoot().toPath().resolve("library.snapshot");
+    ConfigSnapshots.write(
+        snapshotFile,
+        ConfigSnapshots.fingerprint(ImmutableList.of(configFile)),
+        ConfigProto.getDefaultInstance());
+
+    writeFile("library_gapic.yaml", "config_schema_version: 2.0.0\n");
+    String newFingerprint = ConfigSnapshots.fingerprint(ImmutableList.of(configFile));
+
+    assertThat(ConfigSnapshots.read(snapshotFile, newFingerprint)).isNull();
+  }
+
+  @Test
+  public void testDamagedOrMissingSnapshotIsIgnored() throws Exception {
+    File snapshotFile = writeFile("library.snapshot", "not a snapshot");
+
+    assertThat(ConfigSnapshots.read(snapshotFile.toPath(), "fingerprint")).isNull();
+    assertThat(ConfigSnapshots.read(tempDir.getRoot().toPath().resolve("missing"), "fingerprint"))
+        .isNull();
+  }
+
+  private File writeFile(String name, String content) throws Exception {
+    File file = new File(tempDir.getRoot(), name);
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+}
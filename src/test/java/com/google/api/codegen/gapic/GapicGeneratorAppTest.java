@@ -14,17 +14,31 @@
  */
 package com.google.api.codegen.gapic;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import com.google.api.codegen.ArtifactType;
+import com.google.api.codegen.common.CodeGenerator;
+import com.google.api.codegen.common.GeneratedResult;
+import com.google.api.codegen.common.TargetLanguage;
+import com.google.api.tools.framework.model.Diag;
 import com.google.api.tools.framework.model.DiagCollector;
+import com.google.api.tools.framework.model.SimpleLocation;
 import com.google.api.tools.framework.snippet.Doc;
 import com.google.api.tools.framework.tools.ToolOptions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import org.junit.Rule;
 import org.junit.Test;
@@ -65,4 +79,179 @@ public class GapicGeneratorAppTest {
     assertTrue(outputJar.exists());
     assertFalse((new File(outputJar.getPath(), "tmp3")).exists());
   }
+
+  @Test
+  public void runGeneratorsMergesResultsInGeneratorOrder() throws Exception {
+    List<CodeGenerator<?>> generators = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      generators.add(new FixedCodeGenerator("file" + i + ".txt", "content" + i));
+    }
+
+    Map<String, GeneratedResult<?>> results = GapicGeneratorApp.runGenerators(generators);
+
+    List<String> expectedPaths = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      expectedPaths.add("file" + i + ".txt");
+    }
+    assertEquals(expectedPaths, ImmutableList.copyOf(results.keySet()));
+    assertEquals("content7", results.get("file7.txt").getBody());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void runGeneratorsRejectsDuplicatePaths() throws Exception {
+    List<CodeGenerator<?>> generators =
+        ImmutableList.of(
+            new FixedCodeGenerator("file.txt", "first"),
+            new FixedCodeGenerator("file.txt", "second"));
+    GapicGeneratorApp.runGenerators(generators);
+  }
+
+  @Test
+  public void streamGeneratorsWritesFilesAndSetsPermissions() throws Exception {
+    String outputDir = tempDir.getRoot().getPath();
+    FileGapicWriter gapicWriter = new FileGapicWriter(outputDir);
+    GapicGeneratorApp generator =
+        new GapicGeneratorApp(
+            ToolOptions.create(), ArtifactType.LEGACY_GAPIC_AND_PACKAGE, gapicWriter);
+    List<CodeGenerator<?>> generators =
+        ImmutableList.of(
+            new FixedCodeGenerator("tmp.txt", "Sample data"),
+            new FixedCodeGenerator("tmp3", "Sample \"runnable\" data", true));
+
+    GapicGeneratorApp.streamGenerators(generators, gapicWriter, generator.getDiagCollector());
+
+    assertTrue(gapicWriter.isDone());
+    assertTrue((new File(outputDir, "tmp.txt")).exists());
+    assertTrue((new File(outputDir, "tmp3")).exists());
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      assertTrue((new File(outputDir, "tmp3")).canExecute());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void streamGeneratorsRejectsDuplicatePaths() throws Exception {
+    File outputJar = new File(tempDir.getRoot(), "output.jar");
+    FileGapicWriter gapicWriter = new FileGapicWriter(outputJar.getPath());
+    GapicGeneratorApp generator =
+        new GapicGeneratorApp(
+            ToolOptions.create(), ArtifactType.LEGACY_GAPIC_AND_PACKAGE, gapicWriter);
+    List<CodeGenerator<?>> generators =
+        ImmutableList.of(
+            new FixedCodeGenerator("file.txt", "first"),
+            new FixedCodeGenerator("file.txt", "second"));
+    GapicGeneratorApp.streamGenerators(generators, gapicWriter, generator.getDiagCollector());
+  }
+
+  @Test
+  public void streamGeneratorsKeepsPreviousArchiveWhenGeneratorThrows() throws Exception {
+    File outputJar = new File(tempDir.getRoot(), "output.jar");
+    Files.write(outputJar.toPath(), "previous".getBytes(StandardCharsets.UTF_8));
+    FileGapicWriter gapicWriter = new FileGapicWriter(outputJar.getPath());
+    GapicGeneratorApp generator =
+        new GapicGeneratorApp(
+            ToolOptions.create(), ArtifactType.LEGACY_GAPIC_AND_PACKAGE, gapicWriter);
+    List<CodeGenerator<?>> generators =
+        ImmutableList.of(new FixedCodeGenerator("file.txt", "first"), new FailingCodeGenerator());
+
+    try {
+      GapicGeneratorApp.streamGenerators(generators, gapicWriter, generator.getDiagCollector());
+      fail("Expected the failing generator to throw");
+    } catch (IllegalStateException expected) {
+      // The partial archive must be discarded.
+    }
+
+    assertFalse(gapicWriter.isDone());
+    assertEquals(
+        "previous", new String(Files.readAllBytes(outputJar.toPath()), StandardCharsets.UTF_8));
+    assertEquals(1, tempDir.getRoot().list().length);
+  }
+
+  @Test
+  public void streamGeneratorsDoesNotCompleteOutputOnErrors() throws Exception {
+    File outputJar = new File(tempDir.getRoot(), "output.jar");
+    FileGapicWriter gapicWriter = new FileGapicWriter(outputJar.getPath());
+    GapicGeneratorApp generator =
+        new GapicGeneratorApp(
+            ToolOptions.create(), ArtifactType.LEGACY_GAPIC_AND_PACKAGE, gapicWriter);
+    DiagCollector diagCollector = generator.getDiagCollector();
+    diagCollector.addDiag(Diag.error(SimpleLocation.TOPLEVEL, "config error"));
+    List<CodeGenerator<?>> generators =
+        ImmutableList.of(new FixedCodeGenerator("file.txt", "first"));
+
+    GapicGeneratorApp.streamGenerators(generators, gapicWriter, diagCollector);
+
+    assertFalse(gapicWriter.isDone());
+    assertFalse(outputJar.exists());
+    assertEquals(0, tempDir.getRoot().list().length);
+  }
+
+  @Test
+  public void runGeneratorsKeepsTargetsApart() throws Exception {
+    List<CodeGenerator<?>> generators = new ArrayList<>();
+    for (TargetLanguage language : ImmutableList.of(TargetLanguage.JAVA, TargetLanguage.GO)) {
+      for (String protoPackage : ImmutableList.of("google.example.v1", "google.example.v2")) {
+        generators.add(
+            NamespacedCodeGenerator.create(
+                new FixedCodeGenerator("file.txt", language + " " + protoPackage),
+                GapicGeneratorApp.getTargetDirectory(language, protoPackage)));
+      }
+    }
+
+    Map<String, GeneratedResult<?>> results = GapicGeneratorApp.runGenerators(generators);
+
+    assertEquals(
+        ImmutableList.of(
+            "java/google.example.v1/file.txt",
+            "java/google.example.v2/file.txt",
+            "go/google.example.v1/file.txt",
+            "go/google.example.v2/file.txt"),
+        ImmutableList.copyOf(results.keySet()));
+    assertEquals("GO google.example.v2", results.get("go/google.example.v2/file.txt").getBody());
+  }
+
+  @Test
+  public void getTargetDirectoryOmitsSingleTargets() {
+    assertEquals("", GapicGeneratorApp.getTargetDirectory(null, null));
+    assertEquals("java/", GapicGeneratorApp.getTargetDirectory(TargetLanguage.JAVA, null));
+    assertEquals(
+        "google.example.v1/", GapicGeneratorApp.getTargetDirectory(null, "google.example.v1"));
+  }
+
+  private static class FailingCodeGenerator implements CodeGenerator<String> {
+    @Override
+    public Collection<String> getInputFileNames() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Map<String, GeneratedResult<String>> generate() {
+      throw new IllegalStateException("generation failed");
+    }
+  }
+
+  private static class FixedCodeGenerator implements CodeGenerator<String> {
+    private final String path;
+    private final String content;
+    private final boolean executable;
+
+    private FixedCodeGenerator(String path, String content) {
+      this(path, content, false);
+    }
+
+    private FixedCodeGenerator(String path, String content, boolean executable) {
+      this.path = path;
+      this.content = content;
+      this.executable = executable;
+    }
+
+    @Override
+    public Collection<String> getInputFileNames() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Map<String, GeneratedResult<String>> generate() {
+      return ImmutableMap.of(path, GeneratedResult.create(content, executable));
+    }
+  }
 }
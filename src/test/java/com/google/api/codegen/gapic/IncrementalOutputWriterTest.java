@@ -0,0 +1,143 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IncrementalOutputWriterTest {
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
+  @Test
+  public void testUnchangedFilesAreNotRewritten() throws Exception {
+    String outputDir = tempDir.getRoot().getPath();
+    IncrementalOutputWriter firstRun = new IncrementalOutputWriter(outputDir);
+    firstRun.write("a/Same.java", bytes("same"));
+    firstRun.write("a/Changed.java", bytes("before"));
+    firstRun.write("a/Removed.java", bytes("removed"));
+    firstRun.finish();
+    assertThat(firstRun.getWrittenCount()).isEqualTo(3);
+
+    File sameFile = new File(outputDir, "a/Same.java");
+    FileTime oldTime = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(sameFile.toPath(), oldTime);
+
+    IncrementalOutputWriter secondRun = new IncrementalOutputWriter(outputDir);
+    secondRun.write("a/Same.java", bytes("same"));
+    secondRun.write("a/Changed.java", bytes("after"));
+    secondRun.write("a/Added.java", bytes("added"));
+    secondRun.finish();
+
+    assertThat(secondRun.getWrittenCount()).isEqualTo(2);
+    assertThat(secondRun.getUnchangedCount()).isEqualTo(1);
+    assertThat(secondRun.getRemovedCount()).isEqualTo(1);
+    assertThat(Files.getLastModifiedTime(sameFile.toPath())).isEqualTo(oldTime);
+    assertThat(new File(outputDir, "a/Removed.java").exists()).isFalse();
+    assertThat(new String(Files.readAllBytes(new File(outputDir, "a/Changed.java").toPath())))
+        .isEqualTo("after");
+  }
+
+  @Test
+  public void testFilesNotInManifestAreKept() throws Exception {
+    String outputDir = tempDir.getRoot().getPath();
+    File handWritten = tempDir.newFile("HandWritten.java");
+
+    IncrementalOutputWriter writer = new IncrementalOutputWriter(outputDir);
+    writer.write("Generated.java", bytes("generated"));
+    writer.finish();
+
+    writer = new IncrementalOutputWriter(outputDir);
+    writer.finish();
+
+    assertThat(writer.getRemovedCount()).isEqualTo(1);
+    assertThat(handWritten.exists()).isTrue();
+    assertThat(new File(outputDir, "Generated.java").exists()).isFalse();
+  }
+
+  @Test
+  public void testAbortKeepsPreviousFiles() throws Exception {
+    String outputDir = tempDir.getRoot().getPath();
+    IncrementalOutputWriter firstRun = new IncrementalOutputWriter(outputDir);
+    firstRun.write("Kept.java", bytes("kept"));
+    firstRun.write("Changed.java", bytes("before"));
+    firstRun.finish();
+
+    IncrementalOutputWriter failedRun = new IncrementalOutputWriter(outputDir);
+    failedRun.write("Changed.java", bytes("after"));
+    failedRun.abort();
+
+    assertThat(failedRun.getRemovedCount()).isEqualTo(0);
+    assertThat(new File(outputDir, "Kept.java").exists()).isTrue();
+
+    // The manifest lists the kept file, and the new content of the rewritten one.
+    IncrementalOutputWriter nextRun = new IncrementalOutputWriter(outputDir);
+    nextRun.write("Changed.java", bytes("after"));
+    nextRun.finish();
+    assertThat(nextRun.getUnchangedCount()).isEqualTo(1);
+    assertThat(nextRun.getRemovedCount()).isEqualTo(1);
+    assertThat(new File(outputDir, "Kept.java").exists()).isFalse();
+  }
+
+  @Test
+  public void testEditedFileWithSameSizeIsRewritten() throws Exception {
+    String outputDir = tempDir.getRoot().getPath();
+    IncrementalOutputWriter firstRun = new IncrementalOutputWriter(outputDir);
+    firstRun.write("Edited.java", bytes("before"));
+    firstRun.finish();
+
+    File editedFile = new File(outputDir, "Edited.java");
+    Files.write(editedFile.toPath(), bytes("edited"));
+
+    IncrementalOutputWriter secondRun = new IncrementalOutputWriter(outputDir);
+    secondRun.write("Edited.java", bytes("before"));
+    secondRun.finish();
+
+    assertThat(secondRun.getWrittenCount()).isEqualTo(1);
+    assertThat(new String(Files.readAllBytes(editedFile.toPath()))).isEqualTo("before");
+  }
+
+  @Test
+  public void testManifestPathsOutsideOutputDirAreNotDeleted() throws Exception {
+    File outputDir = tempDir.newFolder("output");
+    File outside = tempDir.newFile("Outside.java");
+    String manifest =
+        "0000  ../Outside.java\n"
+            + "0000  "
+            + outside.getAbsolutePath()
+            + "\n"
+            + "0000  .\n"
+            + "0000  a/../../Outside.java\n";
+    Files.write(
+        new File(outputDir, IncrementalOutputWriter.MANIFEST_FILE_NAME).toPath(), bytes(manifest));
+
+    IncrementalOutputWriter writer = new IncrementalOutputWriter(outputDir.getPath());
+    writer.finish();
+
+    assertThat(writer.getRemovedCount()).isEqualTo(0);
+    assertThat(outside.exists()).isTrue();
+    assertThat(outputDir.exists()).isTrue();
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -14,18 +14,24 @@
  */
 package com.google.api.codegen.gapic;
 
+import com.google.api.codegen.ArtifactType;
 import com.google.api.codegen.CodegenTestUtil;
 import com.google.api.codegen.ProtocGeneratorMain;
 import com.google.api.codegen.protoannotations.GapicCodeGeneratorAnnotationsTest;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.ProtoFile;
 import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.api.tools.framework.tools.FileWrapper;
+import com.google.api.tools.framework.tools.ToolOptions;
 import com.google.common.truth.Truth;
+import com.google.protobuf.DescriptorProtos.FileDescriptorSet;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorRequest;
 import com.google.protobuf.compiler.PluginProtos.CodeGeneratorResponse;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
@@ -35,6 +41,7 @@ public class ProtocGapicPluginGeneratorTest {
   private static TestDataLocator testDataLocator;
   private static Model model;
   @ClassRule public static TemporaryFolder tempDir = new TemporaryFolder();
+  @Rule public TemporaryFolder packagesTempDir = new TemporaryFolder();
 
   @BeforeClass
   public static void startUp() {
@@ -65,6 +72,46 @@ public class ProtocGapicPluginGeneratorTest {
     Truth.assertThat(response.getError()).isEmpty();
   }
 
+  @Test
+  public void testGeneratorKeepsPackagesApart() {
+    Model packagesModel =
+        CodegenTestUtil.readModel(
+            testDataLocator,
+            packagesTempDir,
+            new String[] {"multiple_services.proto", "multiple_services_v2.proto"},
+            new String[] {});
+    CodeGeneratorRequest codeGeneratorRequest =
+        CodeGeneratorRequest.newBuilder()
+            .addAllProtoFile(
+                packagesModel
+                    .getFiles()
+                    .stream()
+                    .map(ProtoFile::getProto)
+                    .collect(Collectors.toList()))
+            .addFileToGenerate("multiple_services.proto")
+            .addFileToGenerate("multiple_services_v2.proto")
+            .setParameter("language=java")
+            .build();
+
+    CodeGeneratorResponse response = ProtocGeneratorMain.generate(codeGeneratorRequest);
+
+    Truth.assertThat(response.getError()).isEmpty();
+    List<CodeGeneratorResponse.File> v1Files =
+        getFilesUnder(response, "google.cloud.example.v1.foo/");
+    List<CodeGeneratorResponse.File> v2Files =
+        getFilesUnder(response, "google.cloud.example.v2.foo/");
+    Truth.assertThat(v1Files).isNotEmpty();
+    Truth.assertThat(v2Files).isNotEmpty();
+    Truth.assertThat(v1Files.size() + v2Files.size()).isEqualTo(response.getFileCount());
+    for (CodeGeneratorResponse.File file : v1Files) {
+      Truth.assertThat(file.getContent()).doesNotContain("RequestV2");
+      Truth.assertThat(file.getContent()).doesNotContain("com.google.example.v2");
+    }
+    for (CodeGeneratorResponse.File file : v2Files) {
+      Truth.assertThat(file.getContent()).doesNotContain("com.google.example.v1");
+    }
+  }
+
   @Test
   public void testFailingGenerator() {
     CodeGeneratorRequest codeGeneratorRequest =
@@ -80,4 +127,34 @@ public class ProtocGapicPluginGeneratorTest {
     Truth.assertThat(response).isNotNull();
     Truth.assertThat(response.getError()).isNotEmpty();
   }
+
+  @Test
+  public void testCreateDescriptorSet() throws Exception {
+    CodeGeneratorRequest codeGeneratorRequest =
+        CodeGeneratorRequest.newBuilder()
+            .addAllProtoFile(
+                model.getFiles().stream().map(ProtoFile::getProto).collect(Collectors.toList()))
+            .addFileToGenerate("multiple_services.proto")
+            .build();
+
+    FileWrapper descriptorSetContents =
+        ProtocGeneratorMain.createDescriptorSet(codeGeneratorRequest);
+    GapicGeneratorApp generator =
+        new GapicGeneratorApp(ToolOptions.create(), ArtifactType.GAPIC_CODE, null);
+    FileDescriptorSet descriptorSet =
+        FileDescriptorSet.parseFrom(
+            descriptorSetContents.getFileContents(), generator.getPlatformExtensions());
+    Truth.assertThat(descriptorSet.getFileList())
+        .containsExactlyElementsIn(codeGeneratorRequest.getProtoFileList())
+        .inOrder();
+  }
+
+  private static List<CodeGeneratorResponse.File> getFilesUnder(
+      CodeGeneratorResponse response, String directory) {
+    return response
+        .getFileList()
+        .stream()
+        .filter(file -> file.getName().startsWith(directory))
+        .collect(Collectors.toList());
+  }
 }
@@ -0,0 +1,102 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.gapic;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.tools.framework.snippet.Doc;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZipResultWriterTest {
+  @Rule public TemporaryFolder tempDir = new TemporaryFolder();
+
+  private static final byte[] BINARY = new byte[] {(byte) 0xCA, (byte) 0xFE, 0, 1};
+  private static final byte[] JAR_MAGIC = new byte[] {(byte) 0xFE, (byte) 0xCA, 0, 0};
+
+  @Test
+  public void testStoredEntries() throws Exception {
+    File output = new File(tempDir.getRoot(), "output.srcjar");
+    writeArchive(output, ZipCompression.STORED);
+
+    try (ZipFile zipFile = new ZipFile(output)) {
+      assertThat(zipFile.getEntry("doc.txt").getMethod()).isEqualTo(ZipEntry.STORED);
+      assertContents(zipFile);
+    }
+  }
+
+  @Test
+  public void testDeflatedEntries() throws Exception {
+    File output = new File(tempDir.getRoot(), "output.jar");
+    writeArchive(output, ZipCompression.parse("9"));
+
+    try (ZipFile zipFile = new ZipFile(output)) {
+      assertThat(zipFile.getEntry("doc.txt").getMethod()).isEqualTo(ZipEntry.DEFLATED);
+      assertContents(zipFile);
+    }
+  }
+
+  @Test
+  public void testSrcjarIsWrittenAsJar() throws Exception {
+    File srcjar = new File(tempDir.getRoot(), "output.srcjar");
+    writeArchive(srcjar, ZipCompression.parse("9"));
+    File zip = new File(tempDir.getRoot(), "output.zip");
+    writeArchive(zip, ZipCompression.parse("9"));
+
+    // JarOutputStream marks the first entry of a jar with the jar magic number as extra field.
+    try (ZipFile zipFile = new ZipFile(srcjar)) {
+      assertThat(zipFile.getEntry("doc.txt").getExtra()).isEqualTo(JAR_MAGIC);
+      assertThat(zipFile.getEntry(JarFile.MANIFEST_NAME)).isNull();
+    }
+    try (ZipFile zipFile = new ZipFile(zip)) {
+      assertThat(zipFile.getEntry("doc.txt").getExtra()).isNull();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCompression() {
+    ZipCompression.parse("fast");
+  }
+
+  private static void writeArchive(File output, ZipCompression compression) throws Exception {
+    try (ZipResultWriter writer = new ZipResultWriter(output.getPath(), compression)) {
+      writer.write("doc.txt", Doc.text("Sample doc"));
+      writer.write("dir/string.txt", "Sample string");
+      writer.write("gradle/wrapper/gradle-wrapper.jar", BINARY);
+    }
+  }
+
+  private static void assertContents(ZipFile zipFile) throws Exception {
+    assertThat(new String(read(zipFile, "doc.txt"), StandardCharsets.UTF_8))
+        .isEqualTo("Sample doc");
+    assertThat(new String(read(zipFile, "dir/string.txt"), StandardCharsets.UTF_8))
+        .isEqualTo("Sample string");
+    assertThat(read(zipFile, "gradle/wrapper/gradle-wrapper.jar")).isEqualTo(BINARY);
+  }
+
+  private static byte[] read(ZipFile zipFile, String name) throws Exception {
+    try (InputStream input = zipFile.getInputStream(zipFile.getEntry(name))) {
+      return ByteStreams.toByteArray(input);
+    }
+  }
+}
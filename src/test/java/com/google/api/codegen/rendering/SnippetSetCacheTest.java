@@ -0,0 +1,69 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.rendering;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.SnippetSetRunner;
+import com.google.api.codegen.util.CommonRenderingUtil;
+import com.google.api.codegen.util.java.JavaRenderingUtil;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+public class SnippetSetCacheTest {
+
+  private interface EmptySnippetSet {}
+
+  @Test
+  public void testTemplateIsParsedOnce() {
+    SnippetSetCache cache = new SnippetSetCache();
+    for (int i = 0; i < 3; i++) {
+      CommonRenderingUtil util = new CommonRenderingUtil();
+      assertThat(
+              cache.createSnippetInterface(
+                  EmptySnippetSet.class,
+                  SnippetSetRunner.SNIPPET_RESOURCE_ROOT,
+                  "common.snip",
+                  ImmutableMap.of("util", util),
+                  util))
+          .isNotNull();
+    }
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.hitCount()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.describeStats()).isEqualTo("SnippetSetCache{templates=1, hits=2, misses=1}");
+  }
+
+  @Test
+  public void testUtilClassIsPartOfKey() {
+    SnippetSetCache cache = new SnippetSetCache();
+    CommonRenderingUtil commonUtil = new CommonRenderingUtil();
+    JavaRenderingUtil javaUtil = new JavaRenderingUtil();
+    cache.createSnippetInterface(
+        EmptySnippetSet.class,
+        SnippetSetRunner.SNIPPET_RESOURCE_ROOT,
+        "common.snip",
+        ImmutableMap.of("util", commonUtil),
+        commonUtil);
+    cache.createSnippetInterface(
+        EmptySnippetSet.class,
+        SnippetSetRunner.SNIPPET_RESOURCE_ROOT,
+        "common.snip",
+        ImmutableMap.of("util", javaUtil),
+        javaUtil);
+    assertThat(cache.missCount()).isEqualTo(2);
+    assertThat(cache.hitCount()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,88 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelTransformationTest {
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void createPool() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void shutdownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testResultsAreInInputOrder() {
+    List<Integer> inputs = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      inputs.add(i);
+      expected.add("view" + i);
+    }
+
+    ParallelTransformation parallel = ParallelTransformation.withPool(pool);
+    assertThat(parallel.getParallelism()).isEqualTo(4);
+    assertThat(parallel.transform(inputs, i -> "view" + i))
+        .containsExactlyElementsIn(expected)
+        .inOrder();
+
+    ParallelTransformation sequential = ParallelTransformation.sequential();
+    assertThat(sequential.getParallelism()).isEqualTo(1);
+    assertThat(sequential.transform(inputs, i -> "view" + i))
+        .containsExactlyElementsIn(expected)
+        .inOrder();
+  }
+
+  @Test
+  public void testPoolIsNotShutDown() {
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      inputs.add(i);
+    }
+    ParallelTransformation.withPool(pool).transform(inputs, i -> i);
+    assertThat(pool.isShutdown()).isFalse();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testExceptionsPropagate() {
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      inputs.add(i);
+    }
+    ParallelTransformation.withPool(pool)
+        .transform(
+            inputs,
+            i -> {
+              if (i == 5) {
+                throw new IllegalStateException("failed on " + i);
+              }
+              return i;
+            });
+  }
+}
@@ -0,0 +1,70 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.transformer;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public class SampleFileRegistryTest {
+
+  @Test
+  public void testSameSampleMayBeAddedTwice() {
+    SampleFileRegistry registry = new SampleFileRegistry();
+    registry.addFile("samples/get_book.js", "getBook", "request", "default", "get_book");
+    registry.addFile("samples/get_book.js", "getBook", "request", "default", "get_book");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConflictingSamplesThrow() {
+    SampleFileRegistry registry = new SampleFileRegistry();
+    registry.addFile("samples/get_book.js", "getBook", "request", "default", "get_book");
+    registry.addFile("samples/get_book.js", "getBook", "request", "other", "get_book");
+  }
+
+  @Test
+  public void testConcurrentConflictsAreDetected() {
+    List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      inputs.add(i);
+    }
+    SampleFileRegistry registry = new SampleFileRegistry();
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    List<Boolean> conflicts;
+    try {
+      conflicts =
+          ParallelTransformation.withPool(pool)
+              .transform(
+                  inputs,
+                  i -> {
+                    try {
+                      registry.addFile(
+                          "samples/get_book.js", "getBook", "request", "set" + i, "get_book");
+                      return false;
+                    } catch (IllegalArgumentException e) {
+                      return true;
+                    }
+                  });
+    } finally {
+      pool.shutdown();
+    }
+
+    assertThat(conflicts.stream().filter(conflict -> !conflict).count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,90 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+public class CommentTransformerTest {
+  private static final List<String> COMMENTS =
+      ImmutableList.of(
+          "",
+          "No links here.",
+          "See [Foo][google.example.v1.Foo] and [the docs](/docs/foo*/bar).",
+          "[Absolute](https://example.com/a) and [relative](/b) */",
+          "# Headline\n## Second [link](/c)\ntext with # sign",
+          "Group reference $1 and escape \\ in [title$1](/d\\e)");
+
+  @Test
+  public void testSinglePassMatchesSequentialTransformations() {
+    CommentTransformer.Builder builder = newBuilder();
+    CommentTransformer sequential = builder.build();
+    CommentTransformer singlePass = builder.buildSinglePass();
+
+    for (String comment : COMMENTS) {
+      assertWithMessage(comment)
+          .that(singlePass.transform(comment))
+          .isEqualTo(sequential.transform(comment));
+    }
+  }
+
+  @Test
+  public void testSinglePassTransformsReplacementsWithLaterTransformations() {
+    CommentTransformer transformer = newBuilder().buildSinglePass();
+
+    assertThat(transformer.transform("[title](/a*/b)"))
+        .isEqualTo("<https://cloud.google.com/a* /b|title>");
+  }
+
+  @Test
+  public void testSinglePassAppendsToOutput() {
+    CommentTransformer transformer = newBuilder().buildSinglePass();
+    StringBuilder output = new StringBuilder("prefix ");
+
+    transformer.transform("[Foo][a.b.Foo] */", output);
+
+    assertThat(output.toString()).isEqualTo("prefix Foo * /");
+  }
+
+  @Test
+  public void testSinglePassResolvesGroupReferences() {
+    Pattern quoted = Pattern.compile("'([a-z]+)'");
+    CommentTransformer.Builder builder =
+        CommentTransformer.newBuilder()
+            .replace(Pattern.compile("\\*/"), "* /")
+            .replace(quoted, "<$1>")
+            .replace(Pattern.compile("x"), "\\$");
+
+    assertThat(builder.buildSinglePass().transform("'abc' x */"))
+        .isEqualTo(builder.build().transform("'abc' x */"));
+  }
+
+  private static CommentTransformer.Builder newBuilder() {
+    return CommentTransformer.newBuilder()
+        .transform(LinkPattern.PROTO.toFormat("$TITLE"))
+        .transform(
+            LinkPattern.RELATIVE
+                .withUrlPrefix(CommentTransformer.CLOUD_URL_PREFIX)
+                .toFormat("[$TITLE]($URL)"))
+        .transform(LinkPattern.ABSOLUTE.toFormat("<$URL|$TITLE>"))
+        .scopedReplace(CommentPatterns.HEADLINE_PATTERN, "#", "=")
+        .replace(Pattern.compile("\\*/"), "* /");
+  }
+}
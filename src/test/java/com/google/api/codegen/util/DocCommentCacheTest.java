@@ -0,0 +1,88 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DocCommentCacheTest {
+  private static final AtomicInteger reformatCount = new AtomicInteger();
+
+  private static class CountingReformatter implements CommentReformatter {
+    @Override
+    public String reformat(String comment) {
+      reformatCount.incrementAndGet();
+      return comment.toUpperCase();
+    }
+  }
+
+  private static class IdentityReformatter implements CommentReformatter {
+    @Override
+    public String reformat(String comment) {
+      return comment;
+    }
+  }
+
+  @Test
+  public void testReformatIsSharedAcrossInstances() {
+    String comment = "testReformatIsSharedAcrossInstances comment";
+    int countBefore = reformatCount.get();
+
+    assertThat(DocCommentCache.reformat(new CountingReformatter(), comment))
+        .isEqualTo(comment.toUpperCase());
+    assertThat(DocCommentCache.reformat(new CountingReformatter(), comment))
+        .isEqualTo(comment.toUpperCase());
+    assertThat(reformatCount.get() - countBefore).isEqualTo(1);
+  }
+
+  @Test
+  public void testDocLinesMatchUncachedLines() {
+    String comment = "first line\nsecond line which is a little longer";
+    CommentReformatter reformatter = new IdentityReformatter();
+
+    assertThat(DocCommentCache.getDocLines(reformatter, comment))
+        .containsExactlyElementsIn(CommonRenderingUtil.getDocLines(comment))
+        .inOrder();
+    assertThat(DocCommentCache.getWrappedDocLines(reformatter, comment, 20))
+        .containsExactlyElementsIn(CommonRenderingUtil.getDocLines(comment, 20))
+        .inOrder();
+    assertThat(DocCommentCache.getWrappedDocLines(null, comment, 30))
+        .containsExactlyElementsIn(CommonRenderingUtil.getDocLines(comment, 30))
+        .inOrder();
+  }
+
+  @Test
+  public void testKeysIncludeReformatterClass() {
+    String comment = "testKeysIncludeReformatterClass comment";
+
+    assertThat(DocCommentCache.reformat(new IdentityReformatter(), comment)).isEqualTo(comment);
+    assertThat(DocCommentCache.reformat(new CountingReformatter(), comment))
+        .isEqualTo(comment.toUpperCase());
+  }
+
+  @Test
+  public void testStatsRecordHits() {
+    String comment = "testStatsRecordHits comment";
+    CommentReformatter reformatter = new IdentityReformatter();
+    long hitsBefore = DocCommentCache.docLineStats().hitCount();
+
+    DocCommentCache.getDocLines(reformatter, comment);
+    DocCommentCache.getDocLines(reformatter, comment);
+
+    assertThat(DocCommentCache.docLineStats().hitCount() - hitsBefore).isAtLeast(1L);
+  }
+}
@@ -30,9 +30,11 @@ import com.google.api.tools.framework.model.Method;
 import com.google.api.tools.framework.model.Model;
 import com.google.api.tools.framework.model.ProtoFile;
 import com.google.api.tools.framework.model.testing.TestDataLocator;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.longrunning.OperationInfo;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.BeforeClass;
@@ -236,6 +238,79 @@ public class ProtoParserTest {
         .isEqualTo("Book");
   }
 
+  @Test
+  public void testFindResourceOrSetSymbolKeepsCollectionOrder() {
+    String fullName = "Book.google.example.library.v1";
+    Resource localMatch =
+        Resource.newBuilder().setSymbol(fullName).setPattern("local/{local_id}").build();
+    Resource fullNameMatch =
+        Resource.newBuilder().setSymbol("Book").setPattern("books/{book_id}").build();
+    ResourceSet fullNameSetMatch = ResourceSet.newBuilder().setSymbol("Book").build();
+    Map<ResourceSet, ProtoFile> noResourceSets = ImmutableMap.of();
+
+    // The first Resource which matches either by its full name or within the file wins.
+    Map<Resource, ProtoFile> localFirst = new LinkedHashMap<>();
+    localFirst.put(localMatch, libraryProtoFile);
+    localFirst.put(fullNameMatch, libraryProtoFile);
+    assertThat(
+            protoParser.findResourceOrSetSymbol(
+                fullName, libraryProtoFile, localFirst, noResourceSets))
+        .isEqualTo(fullName);
+
+    Map<Resource, ProtoFile> fullNameFirst = new LinkedHashMap<>();
+    fullNameFirst.put(fullNameMatch, libraryProtoFile);
+    fullNameFirst.put(localMatch, libraryProtoFile);
+    assertThat(
+            protoParser.findResourceOrSetSymbol(
+                fullName, libraryProtoFile, fullNameFirst, noResourceSets))
+        .isEqualTo("Book");
+
+    // Any Resource match wins over a ResourceSet match.
+    assertThat(
+            protoParser.findResourceOrSetSymbol(
+                fullName,
+                libraryProtoFile,
+                ImmutableMap.of(localMatch, libraryProtoFile),
+                ImmutableMap.of(fullNameSetMatch, libraryProtoFile)))
+        .isEqualTo(fullName);
+    assertThat(
+            protoParser.findResourceOrSetSymbol(
+                fullName,
+                libraryProtoFile,
+                ImmutableMap.of(),
+                ImmutableMap.of(fullNameSetMatch, libraryProtoFile)))
+        .isEqualTo("Book");
+  }
+
+  @Test
+  public void testResourceIndexIsRebuiltForOtherCollections() {
+    ProtoParser parser = new ProtoParser(true);
+    Resource shelfResource =
+        Resource.newBuilder().setSymbol("Shelf").setPattern("shelves/{shelf_id}").build();
+    Resource bookResource =
+        Resource.newBuilder().setSymbol("Book").setPattern("books/{book_id}").build();
+    ResourceSet shelvesResourceSet = ResourceSet.newBuilder().setSymbol("Shelves").build();
+    Map<ResourceSet, ProtoFile> noResourceSets = ImmutableMap.of();
+
+    Map<Resource, ProtoFile> shelves = ImmutableMap.of(shelfResource, libraryProtoFile);
+    assertThat(parser.findResourceOrSetSymbol("Shelf", libraryProtoFile, shelves, noResourceSets))
+        .isEqualTo("Shelf");
+    assertThat(parser.findResourceOrSetSymbol("Book", libraryProtoFile, shelves, noResourceSets))
+        .isNull();
+
+    Map<Resource, ProtoFile> books = ImmutableMap.of(bookResource, libraryProtoFile);
+    assertThat(parser.findResourceOrSetSymbol("Book", libraryProtoFile, books, noResourceSets))
+        .isEqualTo("Book");
+    assertThat(parser.findResourceOrSetSymbol("Shelf", libraryProtoFile, books, noResourceSets))
+        .isNull();
+
+    Map<ResourceSet, ProtoFile> shelfSets = ImmutableMap.of(shelvesResourceSet, libraryProtoFile);
+    assertThat(parser.findResourceOrSetSymbol("Shelves", libraryProtoFile, books, shelfSets))
+        .isEqualTo("Shelves");
+    assertThat(parser.findResourceOrSetSymbol("Shelves", libraryProtoFile, books, noResourceSets))
+        .isNull();
+  }
+
   @Test
   public void getResourceEntityName() {
     assertThat(protoParser.getResourceEntityName(shelfNameField)).isEqualTo("Shelf");
@@ -0,0 +1,56 @@
+/* Copyright 2019 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.api.codegen.util.testing;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.api.codegen.config.TypeModel;
+import com.google.api.codegen.util.Name;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class TestValueGeneratorTest {
+  // Produces colliding values for "name" and "title", and a distinct value for "title_1".
+  private static final Map<String, String> VALUES =
+      ImmutableMap.of("name", "value", "title", "value", "title_1", "other_value");
+
+  @Test
+  public void testRegeneratesCollidingValues() {
+    TestValueGenerator generator = new TestValueGenerator(producer());
+    TypeModel stringType = Mockito.mock(TypeModel.class);
+    Mockito.when(stringType.getPrimitiveTypeName()).thenReturn("string");
+
+    assertThat(generator.getAndStoreValue(stringType, Name.from("name"))).isEqualTo("value");
+    assertThat(generator.getAndStoreValue(stringType, Name.from("title"))).isEqualTo("other_value");
+    assertThat(generator.getAndStoreValue(stringType, Name.from("name"))).isEqualTo("value");
+  }
+
+  @Test
+  public void testBoolValuesMayCollide() {
+    TestValueGenerator generator = new TestValueGenerator(producer());
+    TypeModel boolType = Mockito.mock(TypeModel.class);
+    // A distinct instance, so the check cannot rely on string identity.
+    Mockito.when(boolType.getPrimitiveTypeName()).thenReturn(new String("bool"));
+
+    assertThat(generator.getAndStoreValue(boolType, Name.from("name"))).isEqualTo("value");
+    assertThat(generator.getAndStoreValue(boolType, Name.from("title"))).isEqualTo("value");
+  }
+
+  private static ValueProducer producer() {
+    return (type, identifier) -> VALUES.get(identifier.toLowerUnderscore());
+  }
+}